@@ -0,0 +1,50 @@
+package com.example.talkingCanvas.analytics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes the values of a dimension as dense int codes, so facts store an int per value and
+ * group-by results can be accumulated in arrays indexed by code. Codes are never reused.
+ * <p>
+ * Only the owning store's single writer adds values; readers may look codes up concurrently.
+ */
+final class Dictionary {
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[0];
+
+    /**
+     * Returns the code of {@code value}, assigning the next one if it is new
+     */
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        String[] current = values;
+        String[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = value;
+        // Published before the code, so a reader that finds the code can always decode it
+        values = grown;
+        codes.put(value, current.length);
+        return current.length;
+    }
+
+    /**
+     * Returns the code of {@code value}, or {@link OrderFactStore#NONE} if it was never seen
+     */
+    int code(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : OrderFactStore.NONE;
+    }
+
+    String decode(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return values.length;
+    }
+}
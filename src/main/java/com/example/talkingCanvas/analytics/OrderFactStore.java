@@ -0,0 +1,356 @@
+package com.example.talkingCanvas.analytics;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory, column-oriented store of order-item facts for ad-hoc revenue analytics.
+ * <p>
+ * Each fact is one order item, kept as a row index into primitive arrays: order time in epoch
+ * milliseconds, weekday, painting, quantity, line amount and unit price in paise, and a
+ * cancelled flag. Painting attributes (medium and categories) are dictionary-encoded and kept
+ * once per painting, so grouping by them is an int lookup and reflects the painting as it is
+ * now. A query is a single pass over the arrays accumulating into arrays indexed by group code;
+ * no objects are created per fact.
+ * <p>
+ * There is a single writer at a time (the mutators are synchronized) and any number of lock-free
+ * readers. A writer fills a row before publishing the new size through a volatile write, and
+ * replaces an array only with a larger copy published before the size grows, so a reader that
+ * reads the size first always sees complete rows.
+ */
+public final class OrderFactStore {
+
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final String UNKNOWN = "Unknown";
+    private static final String UNCATEGORIZED = "Uncategorized";
+    private static final int[] NO_CATEGORIES = new int[0];
+
+    public enum Dimension {
+        CATEGORY, MEDIUM, WEEKDAY, PRICE_BAND
+    }
+
+    /**
+     * @param fromMillis inclusive lower bound on the order time
+     * @param toMillis exclusive upper bound on the order time
+     * @param category category code facts must belong to, or {@link #NONE}
+     * @param medium medium code facts must have, or {@link #NONE}
+     * @param bandBoundsPaise ascending unit-price boundaries for {@link Dimension#PRICE_BAND}, at
+     *                        least one
+     */
+    public record Query(Dimension groupBy, long fromMillis, long toMillis, int category, int medium,
+            boolean includeCancelled, long[] bandBoundsPaise) {
+
+        public Query {
+            if (groupBy == Dimension.PRICE_BAND && (bandBoundsPaise == null || bandBoundsPaise.length == 0)) {
+                throw new IllegalArgumentException("Price bands need at least one boundary");
+            }
+        }
+    }
+
+    public record Group(String key, long revenuePaise, long units, long lineItems) {
+    }
+
+    private final Dictionary mediums = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+
+    /** Row range {start, length} of each order's facts, which are appended together */
+    private final Map<Long, int[]> orderRows = new HashMap<>();
+    private final Map<Long, Integer> paintingRefs = new HashMap<>();
+
+    private volatile Facts facts = new Facts(INITIAL_CAPACITY);
+    private volatile Paintings paintings = new Paintings(64);
+    private volatile int size;
+    private int paintingCount;
+
+    public synchronized boolean containsOrder(long orderId) {
+        return orderRows.containsKey(orderId);
+    }
+
+    public synchronized boolean containsPainting(long paintingId) {
+        return paintingRefs.containsKey(paintingId);
+    }
+
+    /**
+     * Appends the items of an order. Paintings not seen before count as {@value #UNKNOWN} medium
+     * and uncategorized until {@link #setPaintingDimensions} is called for them.
+     *
+     * @return false if the order was already present, in which case nothing changes
+     */
+    public synchronized boolean appendOrder(long orderId, long timestampMillis, DayOfWeek weekday, boolean cancelled,
+            long[] paintingIds, int[] quantities, long[] unitPricesPaise) {
+        if (orderRows.containsKey(orderId)) {
+            return false;
+        }
+        int start = size;
+        int count = paintingIds.length;
+        Facts target = ensureCapacity(start + count);
+        for (int i = 0; i < count; i++) {
+            int row = start + i;
+            target.timestamps[row] = timestampMillis;
+            target.weekdays[row] = (byte) (weekday.getValue() - 1);
+            target.paintings[row] = paintingRef(paintingIds[i]);
+            target.quantities[row] = quantities[i];
+            target.unitPrices[row] = unitPricesPaise[i];
+            target.amounts[row] = unitPricesPaise[i] * quantities[i];
+            target.cancelled[row] = cancelled;
+        }
+        orderRows.put(orderId, new int[] { start, count });
+        size = start + count;
+        return true;
+    }
+
+    /**
+     * @return false if the order is not in the store
+     */
+    public synchronized boolean setCancelled(long orderId, boolean cancelled) {
+        int[] range = orderRows.get(orderId);
+        if (range == null) {
+            return false;
+        }
+        Arrays.fill(facts.cancelled, range[0], range[0] + range[1], cancelled);
+        return true;
+    }
+
+    public synchronized void setPaintingDimensions(long paintingId, String medium, Collection<String> categoryNames) {
+        int ref = paintingRef(paintingId);
+        int[] codes = categoryNames.isEmpty() ? NO_CATEGORIES
+                : categoryNames.stream().distinct().mapToInt(categories::encode).toArray();
+        Paintings current = paintings;
+        current.mediums[ref] = mediums.encode(medium == null || medium.isBlank() ? UNKNOWN : medium);
+        current.categories[ref] = codes;
+    }
+
+    public int mediumCode(String medium) {
+        return mediums.code(medium);
+    }
+
+    public int categoryCode(String category) {
+        return categories.code(category);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<Group> query(Query query) {
+        // Size first: everything up to it was published before it
+        int n = size;
+        Facts f = facts;
+        Paintings p = paintings;
+        int paintingSlots = p.mediums.length;
+
+        // Painting attributes are read once, so a concurrent update cannot split a query
+        int[] mediumOf = Arrays.copyOf(p.mediums, paintingSlots);
+        int[][] categoriesOf = Arrays.copyOf(p.categories, paintingSlots);
+        boolean[] selected = new boolean[paintingSlots];
+        for (int ref = 0; ref < paintingSlots; ref++) {
+            selected[ref] = (query.medium() == NONE || mediumOf[ref] == query.medium())
+                    && (query.category() == NONE || contains(categoriesOf[ref], query.category()));
+        }
+
+        // Labels are read last, so they normally cover every code read above; codes added in
+        // between are skipped below rather than risking an out-of-range group
+        String[] labels = labels(query);
+        int groups = labels.length;
+        long[] revenue = new long[groups];
+        long[] units = new long[groups];
+        long[] lines = new long[groups];
+        int uncategorized = groups - 1;
+        long[] bounds = query.bandBoundsPaise();
+
+        for (int i = 0; i < n; i++) {
+            long t = f.timestamps[i];
+            int ref = f.paintings[i];
+            if (t < query.fromMillis() || t >= query.toMillis() || !selected[ref]
+                    || (f.cancelled[i] && !query.includeCancelled())) {
+                continue;
+            }
+            switch (query.groupBy()) {
+                case MEDIUM -> {
+                    if (mediumOf[ref] < groups) {
+                        add(mediumOf[ref], i, f, revenue, units, lines);
+                    }
+                }
+                case WEEKDAY -> add(f.weekdays[i], i, f, revenue, units, lines);
+                case PRICE_BAND -> add(band(bounds, f.unitPrices[i]), i, f, revenue, units, lines);
+                case CATEGORY -> {
+                    // A painting in several categories counts towards each of them
+                    int[] codes = categoriesOf[ref];
+                    if (codes == null || codes.length == 0) {
+                        add(uncategorized, i, f, revenue, units, lines);
+                    } else {
+                        for (int code : codes) {
+                            if (code < uncategorized) {
+                                add(code, i, f, revenue, units, lines);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Group> result = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            if (lines[g] > 0) {
+                result.add(new Group(labels[g], revenue[g], units[g], lines[g]));
+            }
+        }
+        return result;
+    }
+
+    private static void add(int group, int row, Facts f, long[] revenue, long[] units, long[] lines) {
+        revenue[group] += f.amounts[row];
+        units[group] += f.quantities[row];
+        lines[group]++;
+    }
+
+    private String[] labels(Query query) {
+        return switch (query.groupBy()) {
+            case MEDIUM -> decodeAll(mediums, mediums.size());
+            case CATEGORY -> {
+                int count = categories.size();
+                String[] labels = Arrays.copyOf(decodeAll(categories, count), count + 1);
+                labels[count] = UNCATEGORIZED;
+                yield labels;
+            }
+            case WEEKDAY -> Arrays.stream(DayOfWeek.values()).map(DayOfWeek::name).toArray(String[]::new);
+            case PRICE_BAND -> bandLabels(query.bandBoundsPaise());
+        };
+    }
+
+    private static String[] decodeAll(Dictionary dictionary, int count) {
+        String[] labels = new String[count];
+        for (int code = 0; code < count; code++) {
+            labels[code] = dictionary.decode(code);
+        }
+        return labels;
+    }
+
+    private static String[] bandLabels(long[] bounds) {
+        String[] labels = new String[bounds.length + 1];
+        for (int band = 0; band <= bounds.length; band++) {
+            if (band == 0) {
+                labels[band] = "< " + rupees(bounds[0]);
+            } else if (band == bounds.length) {
+                labels[band] = ">= " + rupees(bounds[band - 1]);
+            } else {
+                labels[band] = rupees(bounds[band - 1]) + " - " + rupees(bounds[band]);
+            }
+        }
+        return labels;
+    }
+
+    private static String rupees(long paise) {
+        return paise % 100 == 0 ? Long.toString(paise / 100) : String.format("%d.%02d", paise / 100, paise % 100);
+    }
+
+    private static int band(long[] bounds, long unitPrice) {
+        int band = 0;
+        while (band < bounds.length && unitPrice >= bounds[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static boolean contains(int[] codes, int code) {
+        if (codes == null) {
+            return false;
+        }
+        for (int candidate : codes) {
+            if (candidate == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int paintingRef(long paintingId) {
+        Integer ref = paintingRefs.get(paintingId);
+        if (ref != null) {
+            return ref;
+        }
+        int next = paintingCount;
+        Paintings current = paintings;
+        if (next == current.mediums.length) {
+            current = current.grow(next * 2);
+            paintings = current;
+        }
+        current.mediums[next] = mediums.encode(UNKNOWN);
+        current.categories[next] = NO_CATEGORIES;
+        paintingRefs.put(paintingId, next);
+        paintingCount = next + 1;
+        return next;
+    }
+
+    private Facts ensureCapacity(int needed) {
+        Facts current = facts;
+        if (needed <= current.timestamps.length) {
+            return current;
+        }
+        int capacity = current.timestamps.length;
+        while (capacity < needed) {
+            capacity += capacity >> 1;
+        }
+        Facts grown = current.grow(capacity, size);
+        facts = grown;
+        return grown;
+    }
+
+    private static final class Facts {
+
+        final long[] timestamps;
+        final byte[] weekdays;
+        final int[] paintings;
+        final int[] quantities;
+        final long[] amounts;
+        final long[] unitPrices;
+        final boolean[] cancelled;
+
+        Facts(int capacity) {
+            timestamps = new long[capacity];
+            weekdays = new byte[capacity];
+            paintings = new int[capacity];
+            quantities = new int[capacity];
+            amounts = new long[capacity];
+            unitPrices = new long[capacity];
+            cancelled = new boolean[capacity];
+        }
+
+        Facts grow(int capacity, int rows) {
+            Facts grown = new Facts(capacity);
+            System.arraycopy(timestamps, 0, grown.timestamps, 0, rows);
+            System.arraycopy(weekdays, 0, grown.weekdays, 0, rows);
+            System.arraycopy(paintings, 0, grown.paintings, 0, rows);
+            System.arraycopy(quantities, 0, grown.quantities, 0, rows);
+            System.arraycopy(amounts, 0, grown.amounts, 0, rows);
+            System.arraycopy(unitPrices, 0, grown.unitPrices, 0, rows);
+            System.arraycopy(cancelled, 0, grown.cancelled, 0, rows);
+            return grown;
+        }
+    }
+
+    private static final class Paintings {
+
+        final int[] mediums;
+        final int[][] categories;
+
+        Paintings(int capacity) {
+            mediums = new int[capacity];
+            categories = new int[capacity][];
+        }
+
+        Paintings grow(int capacity) {
+            Paintings grown = new Paintings(capacity);
+            System.arraycopy(mediums, 0, grown.mediums, 0, mediums.length);
+            System.arraycopy(categories, 0, grown.categories, 0, categories.length);
+            return grown;
+        }
+    }
+}
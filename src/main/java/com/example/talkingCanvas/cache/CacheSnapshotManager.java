@@ -0,0 +1,309 @@
+package com.example.talkingCanvas.cache;
+
+import com.example.talkingCanvas.repository.PaintingCategoryRepository;
+import com.example.talkingCanvas.repository.PaintingCertificateRepository;
+import com.example.talkingCanvas.repository.PaintingImageRepository;
+import com.example.talkingCanvas.repository.PaintingRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes the hottest entries of the public read caches to a local file on graceful shutdown
+ * and reloads them on startup, so a restart does not begin with cold caches.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ * header:  int magic, short version, long createdAtMillis, int sectionCount
+ * section: short nameLength, name (UTF-8), long stamp, int entryCount
+ * entry:   byte keyType, key, int valueLength, value ({@link CacheValueCodec#encode})
+ * </pre>
+ * A section is only loaded when its stamp still matches the database. Image entries are
+ * checked one by one instead, since stored image bytes never change.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheSnapshotManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotManager.class);
+
+    private static final int MAGIC = 0x54435331; // "TCS1"
+    private static final short VERSION = 1;
+
+    private static final byte KEY_EMPTY = 0;
+    private static final byte KEY_STRING = 1;
+    private static final byte KEY_LONG = 2;
+
+    private static final String PAINTINGS = "paintings";
+    private static final String CATEGORIES = "categories";
+    private static final String IMAGES = "painting-images";
+    private static final List<String> SNAPSHOT_CACHES = List.of(PAINTINGS, CATEGORIES, IMAGES);
+
+    private final CacheManager cacheManager;
+    private final CacheValueCodec codec;
+    private final PaintingRepository paintingRepository;
+    private final PaintingCategoryRepository categoryRepository;
+    private final PaintingImageRepository imageRepository;
+    private final PaintingCertificateRepository certificateRepository;
+
+    @Value("${cache.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.snapshot.path:cache-snapshot.bin}")
+    private String snapshotPath;
+
+    @Value("${cache.snapshot.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${cache.snapshot.max-age-hours:24}")
+    private long maxAgeHours;
+
+    @EventListener(ContextClosedEvent.class)
+    public void writeSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Path target = Path.of(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        int written = 0;
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(SNAPSHOT_CACHES.size());
+                for (String name : SNAPSHOT_CACHES) {
+                    written += writeSection(out, name);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Cache snapshot written to {}: {} entries in {} ms", target, written,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Failed to write cache snapshot to {}: {}", target, ex.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        Path source = Path.of(snapshotPath);
+        if (!enabled || !Files.isReadable(source)) {
+            return;
+        }
+        long started = System.nanoTime();
+        int loaded = 0;
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                logger.warn("Ignoring cache snapshot {}: unknown format", source);
+                return;
+            }
+            long createdAt = buffer.getLong();
+            if (System.currentTimeMillis() - createdAt > Duration.ofHours(maxAgeHours).toMillis()) {
+                logger.info("Ignoring cache snapshot {}: older than {} hours", source, maxAgeHours);
+                return;
+            }
+            int sections = buffer.getInt();
+            for (int i = 0; i < sections; i++) {
+                loaded += loadSection(buffer);
+            }
+            logger.info("Cache snapshot loaded from {}: {} entries in {} ms", source, loaded,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Failed to load cache snapshot from {}: {}", source, ex.getMessage());
+        } finally {
+            // A snapshot is consumed once; a crash later must not resurrect it
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException ex) {
+                logger.warn("Failed to delete cache snapshot {}: {}", source, ex.getMessage());
+            }
+        }
+    }
+
+    private int writeSection(DataOutputStream out, String name) throws IOException {
+        Map<Object, Object> hottest = Map.of();
+        if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+            hottest = cache.getNativeCache().policy().eviction()
+                    .map(eviction -> eviction.hottest(maxEntries))
+                    .orElse(Map.of());
+        }
+
+        List<byte[]> keys = new ArrayList<>(hottest.size());
+        List<byte[]> values = new ArrayList<>(hottest.size());
+        for (Map.Entry<Object, Object> entry : hottest.entrySet()) {
+            byte[] key = encodeKey(entry.getKey());
+            if (key == null) {
+                continue;
+            }
+            try {
+                values.add(codec.encode(entry.getValue()));
+                keys.add(key);
+            } catch (RuntimeException ex) {
+                logger.debug("Skipping cache entry {} of {} in snapshot: {}", entry.getKey(), name, ex.getMessage());
+            }
+        }
+
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(nameBytes.length);
+        out.write(nameBytes);
+        out.writeLong(keys.isEmpty() ? 0L : currentStamp(name));
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            out.write(keys.get(i));
+            out.writeInt(values.get(i).length);
+            out.write(values.get(i));
+        }
+        return keys.size();
+    }
+
+    private int loadSection(MappedByteBuffer buffer) {
+        byte[] nameBytes = new byte[buffer.getShort()];
+        buffer.get(nameBytes);
+        String name = new String(nameBytes, StandardCharsets.UTF_8);
+        long stamp = buffer.getLong();
+        int count = buffer.getInt();
+
+        // Values stay in the mapping until the section is known to be valid
+        List<SnapshotEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object key = decodeKey(buffer);
+            int length = buffer.getInt();
+            entries.add(new SnapshotEntry(key, buffer.position(), length));
+            buffer.position(buffer.position() + length);
+        }
+
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null || entries.isEmpty()) {
+            return 0;
+        }
+        if (IMAGES.equals(name)) {
+            Set<Long> existing = new HashSet<>(imageRepository.findExistingIds(
+                    entries.stream().map(entry -> (Long) entry.key()).toList()));
+            entries.removeIf(entry -> !existing.contains((Long) entry.key()));
+        } else if (stamp != currentStamp(name)) {
+            logger.info("Discarding {} snapshot entries of cache {}: data changed since shutdown", count, name);
+            return 0;
+        }
+
+        int loaded = 0;
+        for (SnapshotEntry entry : entries) {
+            byte[] value = new byte[entry.length()];
+            buffer.get(entry.offset(), value);
+            try {
+                cache.putIfAbsent(entry.key(), codec.decode(value));
+                loaded++;
+            } catch (RuntimeException ex) {
+                logger.debug("Skipping unreadable snapshot entry {} of {}: {}", entry.key(), name, ex.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Fingerprint of the rows a cache's entries are built from. Any insert, update or delete
+     * that would make a cached entry stale changes the stamp. View counts are left out: they are
+     * flushed by every instance without touching {@code updated_at}, and cached listings already
+     * show them with a delay. Availability is not cached at all; it is added on read.
+     */
+    private long currentStamp(String name) {
+        return switch (name) {
+            case CATEGORIES -> stamp(categoryRepository.count(), categoryRepository.findMaxId(),
+                    categoryRepository.findLatestUpdatedAt());
+            case PAINTINGS -> stamp(paintingRepository.count(), paintingRepository.findLatestUpdatedAt(),
+                    imageRepository.count(), imageRepository.findMaxId(),
+                    certificateRepository.count(), certificateRepository.findMaxId(),
+                    categoryRepository.count(), categoryRepository.findMaxId(),
+                    categoryRepository.findLatestUpdatedAt());
+            default -> 0L;
+        };
+    }
+
+    private static long stamp(Object... parts) {
+        long hash = 1125899906842597L;
+        for (Object part : parts) {
+            hash = 31 * hash + Objects.hashCode(part);
+        }
+        return hash;
+    }
+
+    private static byte[] encodeKey(Object key) {
+        if (SimpleKey.EMPTY.equals(key)) {
+            return new byte[] { KEY_EMPTY };
+        }
+        if (key instanceof String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                return null;
+            }
+            byte[] encoded = new byte[3 + bytes.length];
+            encoded[0] = KEY_STRING;
+            encoded[1] = (byte) (bytes.length >>> 8);
+            encoded[2] = (byte) bytes.length;
+            System.arraycopy(bytes, 0, encoded, 3, bytes.length);
+            return encoded;
+        }
+        if (key instanceof Long value) {
+            byte[] encoded = new byte[9];
+            encoded[0] = KEY_LONG;
+            for (int i = 0; i < 8; i++) {
+                encoded[8 - i] = (byte) (value >>> (8 * i));
+            }
+            return encoded;
+        }
+        return null;
+    }
+
+    private static Object decodeKey(MappedByteBuffer buffer) {
+        byte type = buffer.get();
+        return switch (type) {
+            case KEY_EMPTY -> SimpleKey.EMPTY;
+            case KEY_STRING -> {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case KEY_LONG -> buffer.getLong();
+            default -> throw new IllegalStateException("Unknown snapshot key type " + type);
+        };
+    }
+
+    private record SnapshotEntry(Object key, int offset, int length) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.talkingCanvas.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Binary codec for cached values: Smile (binary JSON) with embedded type ids, then LZ4.
+ * Type ids are restricted to application DTOs and JDK value/collection types.
+ */
+public class CacheValueCodec {
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    public CacheValueCodec() {
+        PolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.example.talkingCanvas.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.math.")
+                .allowIfSubType("java.lang.")
+                .build();
+        ObjectMapper mapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY)
+                .build();
+        this.writer = mapper.writerFor(Object.class);
+        this.reader = mapper.readerFor(Object.class);
+
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+    }
+
+    /**
+     * Serializes a value to Smile without compression
+     */
+    public byte[] serialize(Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to serialize cache value of type " + value.getClass(), ex);
+        }
+    }
+
+    public Object deserialize(byte[] data) {
+        try {
+            return reader.readValue(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to deserialize cache value", ex);
+        }
+    }
+
+    /**
+     * Serializes and LZ4-compresses a value. The uncompressed length is stored as a 4-byte prefix.
+     */
+    public byte[] encode(Object value) {
+        byte[] raw = serialize(value);
+        byte[] compressed = new byte[4 + compressor.maxCompressedLength(raw.length)];
+        ByteBuffer.wrap(compressed).putInt(raw.length);
+        int length = compressor.compress(raw, 0, raw.length, compressed, 4);
+        return Arrays.copyOf(compressed, 4 + length);
+    }
+
+    public Object decode(byte[] data) {
+        int rawLength = ByteBuffer.wrap(data).getInt();
+        byte[] raw = new byte[rawLength];
+        decompressor.decompress(data, 4, data.length - 4, raw, 0);
+        return deserialize(raw);
+    }
+
+    /**
+     * Uncompressed size of an encoded value, read from its prefix
+     */
+    public static int rawLength(byte[] encoded) {
+        return ByteBuffer.wrap(encoded).getInt();
+    }
+}
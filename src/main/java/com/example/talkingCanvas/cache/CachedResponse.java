@@ -0,0 +1,69 @@
+package com.example.talkingCanvas.cache;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized, pre-gzipped HTTP response body together with its ETag and the cart hold
+ * totals of the paintings it shows, which its availability figures were computed from
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CachedResponse {
+
+    private final String contentType;
+    private final String etag;
+    private final byte[] gzippedBody;
+    private final Map<Long, Integer> heldQuantities;
+
+    public static CachedResponse of(String contentType, byte[] body, Map<Long, Integer> heldQuantities) {
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return new CachedResponse(contentType, etag, gzip(body),
+                heldQuantities == null ? Map.of() : Map.copyOf(heldQuantities));
+    }
+
+    /**
+     * Whether every painting in the body still has the hold total its availability was computed
+     * from
+     */
+    public boolean isCurrent(ToIntFunction<Long> heldQuantity) {
+        for (Map.Entry<Long, Integer> entry : heldQuantities.entrySet()) {
+            if (heldQuantity.applyAsInt(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decompressed body for the rare client that does not accept gzip
+     */
+    public byte[] plainBody() {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzippedBody))) {
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to decompress cached response", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to compress response", ex);
+        }
+        return bytes.toByteArray();
+    }
+}
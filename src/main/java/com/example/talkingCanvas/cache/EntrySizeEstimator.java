@@ -0,0 +1,188 @@
+package com.example.talkingCanvas.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the retained heap size of cached values so caches can be bounded in bytes
+ * rather than entry counts. Assumes a 64-bit JVM with compressed oops. Application
+ * classes are walked field by field; JDK types use fixed estimates because their
+ * internals are not reflectively accessible.
+ */
+public final class EntrySizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_VISITED = 100_000;
+
+    private static final ClassValue<Field[]> REFERENCE_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()
+                            && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    private static final ClassValue<Long> SHALLOW_SIZE = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = OBJECT_HEADER;
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        }
+    };
+
+    private EntrySizeEstimator() {
+    }
+
+    /**
+     * Caffeine weigher summing the estimated size of key and value
+     */
+    public static <K, V> Weigher<K, V> weigher() {
+        return (key, value) -> (int) Math.min(Integer.MAX_VALUE, estimate(key) + estimate(value));
+    }
+
+    public static long estimate(Object root) {
+        if (root == null) {
+            return 0;
+        }
+        IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        long total = 0;
+
+        while (!pending.isEmpty() && visited.size() < MAX_VISITED) {
+            Object current = pending.pop();
+            if (visited.put(current, Boolean.TRUE) != null) {
+                continue;
+            }
+            total += shallowSizeAndChildren(current, pending);
+        }
+        return total;
+    }
+
+    private static long shallowSizeAndChildren(Object obj, Deque<Object> pending) {
+        Class<?> type = obj.getClass();
+
+        if (obj instanceof String s) {
+            // String object plus its backing array (Latin-1 when compact strings apply)
+            return align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + (long) s.length() * (isLatin1(s) ? 1 : 2));
+        }
+        if (type.isEnum() || obj instanceof Class<?>) {
+            return 0;
+        }
+        if (obj instanceof Number || obj instanceof Boolean || obj instanceof Character) {
+            if (obj instanceof BigDecimal decimal) {
+                return 40 + (decimal.precision() > 18 ? 24 + decimal.precision() / 2 : 0);
+            }
+            if (obj instanceof BigInteger integer) {
+                return 40 + align(ARRAY_HEADER + integer.bitLength() / 8);
+            }
+            return 16;
+        }
+        if (obj instanceof Temporal) {
+            // LocalDateTime = object + LocalDate + LocalTime
+            return 72;
+        }
+        if (type.isArray()) {
+            int length = Array.getLength(obj);
+            Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return align(ARRAY_HEADER + (long) length * fieldSize(component));
+            }
+            Object[] elements = (Object[]) obj;
+            for (Object element : elements) {
+                push(pending, element);
+            }
+            return align(ARRAY_HEADER + (long) length * REFERENCE);
+        }
+        if (obj instanceof Collection<?> collection) {
+            collection.forEach(element -> push(pending, element));
+            // Wrapper object plus backing array or one node per element
+            return 24 + align(ARRAY_HEADER + (long) collection.size() * REFERENCE)
+                    + (obj instanceof List<?> ? 0 : (long) collection.size() * 32);
+        }
+        if (obj instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> {
+                push(pending, k);
+                push(pending, v);
+            });
+            return 48 + align(ARRAY_HEADER + (long) map.size() * REFERENCE * 2) + (long) map.size() * 32;
+        }
+        if (type.getName().startsWith("java.")) {
+            return SHALLOW_SIZE.get(Object.class);
+        }
+
+        for (Field field : REFERENCE_FIELDS.get(type)) {
+            try {
+                push(pending, field.get(obj));
+            } catch (IllegalAccessException ignored) {
+                // Counted as a plain reference in the shallow size
+            }
+        }
+        return SHALLOW_SIZE.get(type);
+    }
+
+    private static void push(Deque<Object> pending, Object obj) {
+        if (obj != null) {
+            pending.push(obj);
+        }
+    }
+
+    private static boolean isLatin1(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
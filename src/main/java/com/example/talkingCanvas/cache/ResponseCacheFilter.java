@@ -0,0 +1,127 @@
+package com.example.talkingCanvas.cache;
+
+import com.example.talkingCanvas.service.StockHoldService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HTTP-level cache for anonymous GETs on the public painting listings.
+ * A hit writes the stored gzipped bytes directly and never reaches the controller,
+ * the service layer or Jackson. Entries live in the "http-responses" cache, which is
+ * evicted together with the "paintings" and "categories" data caches.
+ * <p>
+ * Listings show availability, which moves with cart holds. Controllers record the hold totals
+ * they computed it from in {@link #HELD_QUANTITIES_ATTRIBUTE}; an entry whose paintings' totals
+ * have changed since is rendered again instead of served.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_NAME = "http-responses";
+
+    /** Request attribute holding the {@code Map<Long, Integer>} of painting id to held quantity */
+    public static final String HELD_QUANTITIES_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".heldQuantities";
+
+    private static final Set<String> CACHEABLE_PATHS = Set.of(
+            "/api/paintings",
+            "/api/paintings/featured",
+            "/api/paintings/search",
+            "/api/paintings/filter/price",
+            "/api/paintings/categories");
+
+    private final CacheManager cacheManager;
+    private final StockHoldService stockHoldService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || StringUtils.hasText(request.getHeader(HttpHeaders.AUTHORIZATION))
+                || !CACHEABLE_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null && cached.isCurrent(stockHoldService::getHeldQuantity)) {
+            write(cached, "HIT", request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, Integer> heldQuantities = (Map<Long, Integer>) request.getAttribute(HELD_QUANTITIES_ATTRIBUTE);
+        CachedResponse entry = CachedResponse.of(contentType, wrapper.getContentAsByteArray(), heldQuantities);
+        cache.put(key, entry);
+        write(entry, "MISS", request, response);
+    }
+
+    private void write(CachedResponse cached, String cacheStatus, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        response.setHeader(HttpHeaders.ETAG, cached.getEtag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader("X-Cache", cacheStatus);
+
+        // Standard If-None-Match handling (entity-tag lists, weak comparison); sets the 304
+        if (new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+            return;
+        }
+
+        byte[] body;
+        if (acceptsGzip(request)) {
+            // Setting Content-Encoding ourselves also keeps Tomcat from compressing a second time
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.getGzippedBody();
+        } else {
+            body = cached.plainBody();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.talkingCanvas.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-tier cache for large values. The object tier is a regular weighed Caffeine cache;
+ * entries it evicts for size are serialized, LZ4-compressed and kept in a second, byte-bounded
+ * tier. A hit in the compressed tier decodes the value and promotes it back to the object tier.
+ * <p>
+ * Demotion and promotion run outside the caller that writes or evicts the key, so each write or
+ * eviction bumps a generation for the key (striped by hash). A demotion or promotion that started
+ * before the bump does not store its now stale value.
+ */
+public class TieredCache extends CaffeineCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCache.class);
+
+    private static final int KEY_GENERATION_STRIPES = 256;
+
+    private final Cache<Object, byte[]> compressedTier;
+    private final CacheValueCodec codec;
+    private final AtomicLong generation;
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(KEY_GENERATION_STRIPES);
+
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder decompressCount = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    private TieredCache(String name, Cache<Object, Object> objectTier, Cache<Object, byte[]> compressedTier,
+            CacheValueCodec codec, AtomicLong generation) {
+        super(name, objectTier);
+        this.compressedTier = compressedTier;
+        this.codec = codec;
+        this.generation = generation;
+    }
+
+    /**
+     * @param objectTier    builder for the object tier, already bounded and weighed
+     * @param compressedMax byte limit of the compressed tier
+     * @param minBytes      values whose serialized form is smaller than this are not worth compressing
+     */
+    public static TieredCache create(String name, Caffeine<Object, Object> objectTier, long compressedMax,
+            Duration ttl, int minBytes, CacheValueCodec codec) {
+        Cache<Object, byte[]> compressedTier = Caffeine.newBuilder()
+                .maximumWeight(compressedMax)
+                .<Object, byte[]>weigher((key, value) -> value.length + 64)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        AtomicLong generation = new AtomicLong();
+        TieredCache[] self = new TieredCache[1];
+        Cache<Object, Object> objects = objectTier
+                .evictionListener((Object key, Object value, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && self[0] != null) {
+                        self[0].demote(key, value, minBytes);
+                    }
+                })
+                .build();
+        self[0] = new TieredCache(name, objects, compressedTier, codec, generation);
+        return self[0];
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        return value != null ? value : promote(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object promoted = lookup(key);
+        if (promoted != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) fromStoreValue(promoted);
+            return value;
+        }
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        keyGenerations.incrementAndGet(stripe(key));
+        compressedTier.invalidate(key);
+        super.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        keyGenerations.incrementAndGet(stripe(key));
+        compressedTier.invalidate(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        keyGenerations.incrementAndGet(stripe(key));
+        boolean compressed = compressedTier.asMap().remove(key) != null;
+        return super.evictIfPresent(key) || compressed;
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        super.clear();
+        // Let pending size evictions (and their demotions) finish before clearing the second tier
+        getNativeCache().cleanUp();
+        compressedTier.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = getNativeCache().estimatedSize() > 0 || compressedTier.estimatedSize() > 0;
+        clear();
+        return hadEntries;
+    }
+
+    private void demote(Object key, Object value, int minBytes) {
+        if (value instanceof NullValue) {
+            return;
+        }
+        long startGeneration = generation.get();
+        int stripe = stripe(key);
+        long startKeyGeneration = keyGenerations.get(stripe);
+        try {
+            byte[] encoded = codec.encode(value);
+            int rawLength = CacheValueCodec.rawLength(encoded);
+            if (rawLength < minBytes) {
+                return;
+            }
+            // Checked under the key's lock in the compressed tier: a write or eviction bumps the
+            // generation before invalidating that tier, so it either stops this store or removes it
+            boolean[] stored = new boolean[1];
+            compressedTier.asMap().compute(key, (k, existing) -> {
+                if (generation.get() != startGeneration || keyGenerations.get(stripe) != startKeyGeneration) {
+                    return existing;
+                }
+                stored[0] = true;
+                return encoded;
+            });
+            if (stored[0]) {
+                rawBytes.add(rawLength);
+                compressedBytes.add(encoded.length);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Could not demote entry {} of cache {} to the compressed tier: {}", key, getName(),
+                    ex.getMessage());
+        }
+    }
+
+    private Object promote(Object key) {
+        int stripe = stripe(key);
+        long startKeyGeneration = keyGenerations.get(stripe);
+        byte[] encoded = compressedTier.asMap().remove(key);
+        if (encoded == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = codec.decode(encoded);
+        } catch (RuntimeException ex) {
+            logger.warn("Dropping undecodable entry {} of cache {}: {}", key, getName(), ex.getMessage());
+            return null;
+        }
+        decompressNanos.add(System.nanoTime() - start);
+        decompressCount.increment();
+        getNativeCache().put(key, value);
+        if (keyGenerations.get(stripe) != startKeyGeneration) {
+            // Written or evicted meanwhile; that eviction may have run before the put above
+            getNativeCache().asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (KEY_GENERATION_STRIPES - 1);
+    }
+
+    public Cache<Object, byte[]> getCompressedTier() {
+        return compressedTier;
+    }
+
+    /**
+     * Ratio of serialized to compressed bytes over all demotions so far
+     */
+    public double getCompressionRatio() {
+        long compressed = compressedBytes.sum();
+        return compressed == 0 ? 0.0 : (double) rawBytes.sum() / compressed;
+    }
+
+    public long getCompressedWeightedSize() {
+        return compressedTier.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public long getDecompressCount() {
+        return decompressCount.sum();
+    }
+
+    public long getDecompressNanos() {
+        return decompressNanos.sum();
+    }
+}
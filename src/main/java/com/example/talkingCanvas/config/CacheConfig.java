@@ -1,6 +1,14 @@
 package com.example.talkingCanvas.config;
 
+import com.example.talkingCanvas.cache.CacheValueCodec;
+import com.example.talkingCanvas.cache.EntrySizeEstimator;
+import com.example.talkingCanvas.cache.ResponseCacheFilter;
+import com.example.talkingCanvas.cache.TieredCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -9,6 +17,7 @@ import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -17,39 +26,120 @@ import java.util.concurrent.TimeUnit;
  * Cache configuration using Caffeine for in-memory caching.
  * Improves performance by reducing database queries for frequently accessed
  * data.
+ * <p>
+ * Caches are bounded by estimated bytes rather than entry counts: every cache
+ * receives a percentage of one global memory budget ({@code cache.memory.budget-mb})
+ * and entries are weighed by {@link EntrySizeEstimator}.
+ * <p>
+ * Caches holding large values (paging responses, search results, wishlists) are
+ * {@link TieredCache}s with an LZ4-compressed second tier for entries evicted from the object tier.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${cache.memory.budget-mb:64}")
+    private long memoryBudgetMb;
+
+    @Value("${cache.compressed.min-bytes:2048}")
+    private int compressedMinBytes;
+
     @Bean
     public CacheManager cacheManager() {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
 
         List<Cache> caches = new ArrayList<>();
-        // Painting list cache - 15 minutes TTL, max 500 entries
-        caches.add(buildCache("paintings", 500, 15, TimeUnit.MINUTES));
-        // Individual painting details - 10 minutes TTL, max 200 entries
-        caches.add(buildCache("painting-details", 200, 10, TimeUnit.MINUTES));
-        // Categories cache - 1 hour TTL, max 50 entries (rarely changes)
-        caches.add(buildCache("categories", 50, 60, TimeUnit.MINUTES));
-        // Admin dashboard stats - 5 minutes TTL, max 10 entries
-        caches.add(buildCache("dashboard-stats", 10, 5, TimeUnit.MINUTES));
-        // User addresses cache - 10 minutes TTL, max 200 entries (for checkout)
-        caches.add(buildCache("user-addresses", 200, 10, TimeUnit.MINUTES));
-        // User cart cache - 5 minutes TTL, max 200 entries (for checkout)
-        caches.add(buildCache("user-cart", 200, 5, TimeUnit.MINUTES));
+        // Painting list cache - 15 minutes TTL, 18% of the budget + 8% compressed (pages and search results are large)
+        caches.add(buildTieredCache("paintings", 18, 8, 15, TimeUnit.MINUTES));
+        // Individual painting details - 10 minutes TTL, 10% of the budget
+        caches.add(buildCache("painting-details", 10, 10, TimeUnit.MINUTES));
+        // Raw image bytes - 1 hour TTL, 20% of the budget (stored images never change)
+        caches.add(buildCache("painting-images", 20, 60, TimeUnit.MINUTES));
+        // Categories cache - 1 hour TTL, 2% of the budget (rarely changes)
+        caches.add(buildCache("categories", 2, 60, TimeUnit.MINUTES));
+        // Admin dashboard stats - 5 minutes TTL, 2% of the budget
+        caches.add(buildCache("dashboard-stats", 2, 5, TimeUnit.MINUTES));
+        // User addresses cache - 10 minutes TTL, 4% of the budget (for checkout)
+        caches.add(buildCache("user-addresses", 4, 10, TimeUnit.MINUTES));
+        // User cart cache - 5 minutes TTL, 8% of the budget (for checkout)
+        caches.add(buildCache("user-cart", 8, 5, TimeUnit.MINUTES));
+        // User wishlist cache - 10 minutes TTL, 4% of the budget + 2% compressed (embeds full painting responses)
+        caches.add(buildTieredCache("user-wishlist", 4, 2, 10, TimeUnit.MINUTES));
+        // Serialized public GET responses - 15 minutes TTL, 22% of the budget (evicted with paintings/categories)
+        caches.add(buildCache(ResponseCacheFilter.CACHE_NAME, 22, 15, TimeUnit.MINUTES));
 
         cacheManager.setCaches(caches);
 
         return cacheManager;
     }
 
-    private CaffeineCache buildCache(String name, int maxSize, long duration, TimeUnit unit) {
-        return new CaffeineCache(name, Caffeine.newBuilder()
-                .maximumSize(maxSize)
+    @Bean
+    public CacheValueCodec cacheValueCodec() {
+        return new CacheValueCodec();
+    }
+
+    /**
+     * Publishes the bytes held by each cache as {@code cache.weighted.size} and its
+     * byte limit as {@code cache.max.weight}
+     */
+    @Bean
+    public MeterBinder cacheWeightMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+                return;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+            Gauge.builder("cache.weighted.size", nativeCache,
+                    c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                    .tag("cache", name)
+                    .baseUnit("bytes")
+                    .description("Estimated bytes held by the cache")
+                    .register(registry);
+            Gauge.builder("cache.max.weight", nativeCache,
+                    c -> c.policy().eviction().map(e -> e.getMaximum()).orElse(0L))
+                    .tag("cache", name)
+                    .baseUnit("bytes")
+                    .description("Byte limit of the cache")
+                    .register(registry);
+            if (cache instanceof TieredCache tiered) {
+                Gauge.builder("cache.compressed.size", tiered, TieredCache::getCompressedWeightedSize)
+                        .tag("cache", name)
+                        .baseUnit("bytes")
+                        .description("Bytes held by the compressed tier")
+                        .register(registry);
+                Gauge.builder("cache.compressed.ratio", tiered, TieredCache::getCompressionRatio)
+                        .tag("cache", name)
+                        .description("Serialized to compressed size ratio of demoted entries")
+                        .register(registry);
+                FunctionTimer.builder("cache.compressed.decompress", tiered, TieredCache::getDecompressCount,
+                        TieredCache::getDecompressNanos, TimeUnit.NANOSECONDS)
+                        .tag("cache", name)
+                        .description("Decompression latency added to compressed tier hits")
+                        .register(registry);
+            }
+        });
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetMb * 1024 * 1024;
+    }
+
+    private CaffeineCache buildCache(String name, int budgetPercent, long duration, TimeUnit unit) {
+        return new CaffeineCache(name, objectTier(budgetPercent, duration, unit).build());
+    }
+
+    private TieredCache buildTieredCache(String name, int budgetPercent, int compressedPercent, long duration,
+            TimeUnit unit) {
+        return TieredCache.create(name, objectTier(budgetPercent, duration, unit),
+                getMemoryBudgetBytes() * compressedPercent / 100,
+                Duration.ofMillis(unit.toMillis(duration)), compressedMinBytes, cacheValueCodec());
+    }
+
+    private Caffeine<Object, Object> objectTier(int budgetPercent, long duration, TimeUnit unit) {
+        return Caffeine.newBuilder()
+                .maximumWeight(getMemoryBudgetBytes() * budgetPercent / 100)
+                .weigher(EntrySizeEstimator.weigher())
                 .expireAfterWrite(duration, unit)
-                .recordStats()
-                .build());
+                .recordStats();
     }
 }
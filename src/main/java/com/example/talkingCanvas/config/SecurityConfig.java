@@ -3,6 +3,7 @@ package com.example.talkingCanvas.config;
 import com.example.talkingCanvas.security.CustomUserDetailsService;
 import com.example.talkingCanvas.security.JwtAuthenticationEntryPoint;
 import com.example.talkingCanvas.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -63,6 +64,9 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatches of streamed responses (SSE, exports) whose request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/").permitAll()
@@ -0,0 +1,46 @@
+package com.example.talkingCanvas.controller;
+
+import com.example.talkingCanvas.dto.admin.AnalyticsResponse;
+import com.example.talkingCanvas.dto.common.ApiResponse;
+import com.example.talkingCanvas.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller for ad-hoc sales analytics
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Admin Analytics", description = "Ad-hoc sales breakdowns served from memory (Admin only)")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/revenue")
+    @Operation(summary = "Get revenue breakdown", description = "Revenue, units and line items grouped by CATEGORY, MEDIUM, WEEKDAY or PRICE_BAND, optionally filtered by date range, category and medium")
+    public ResponseEntity<ApiResponse<AnalyticsResponse>> getRevenueBreakdown(
+            @RequestParam(defaultValue = "CATEGORY") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String medium,
+            @RequestParam(defaultValue = "false") boolean includeCancelled,
+            @RequestParam(required = false) List<BigDecimal> priceBands) {
+        AnalyticsResponse response = analyticsService.query(groupBy, from, to, category, medium, includeCancelled,
+                priceBands);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.talkingCanvas.controller;
+
+import com.example.talkingCanvas.dto.admin.CacheMemoryResponse;
+import com.example.talkingCanvas.dto.admin.CachePolicyAuditDTO;
+import com.example.talkingCanvas.dto.admin.CachePolicyDTO;
+import com.example.talkingCanvas.dto.admin.CachePolicyRequest;
+import com.example.talkingCanvas.dto.common.ApiResponse;
+import com.example.talkingCanvas.dto.common.PageResponse;
+import com.example.talkingCanvas.security.UserPrincipal;
+import com.example.talkingCanvas.service.CacheAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for administrative cache operations
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Admin Cache Management", description = "APIs for inspecting and tuning application caches (Admin only)")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCacheController {
+
+    private final CacheAdminService cacheAdminService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get cache statistics", description = "Get bytes held, limits and hit rates of every cache")
+    public ResponseEntity<ApiResponse<CacheMemoryResponse>> getCacheStats() {
+        CacheMemoryResponse stats = cacheAdminService.getCacheMemory();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/policies")
+    @Operation(summary = "Get cache policies", description = "Get the effective size limit and TTL of every cache")
+    public ResponseEntity<ApiResponse<List<CachePolicyDTO>>> getCachePolicies() {
+        List<CachePolicyDTO> policies = cacheAdminService.getCachePolicies();
+        return ResponseEntity.ok(ApiResponse.success(policies));
+    }
+
+    @PutMapping("/policies/{name}")
+    @Operation(summary = "Update cache policy", description = "Change the size limit or TTL of a cache without a redeploy")
+    public ResponseEntity<ApiResponse<CachePolicyDTO>> updateCachePolicy(
+            @PathVariable String name,
+            @Valid @RequestBody CachePolicyRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        CachePolicyDTO policy = cacheAdminService.updateCachePolicy(name, request, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Cache policy updated", policy));
+    }
+
+    @GetMapping("/policies/audit")
+    @Operation(summary = "Get cache policy audit log", description = "Get paginated history of cache policy changes")
+    public ResponseEntity<ApiResponse<PageResponse<CachePolicyAuditDTO>>> getCachePolicyAudit(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResponse<CachePolicyAuditDTO> audit = cacheAdminService.getCachePolicyAudit(page, size);
+        return ResponseEntity.ok(ApiResponse.success(audit));
+    }
+}
@@ -1,23 +1,47 @@
 package com.example.talkingCanvas.controller;
 
+import com.example.talkingCanvas.dto.admin.AdminUserSummaryDTO;
 import com.example.talkingCanvas.dto.admin.DashboardStatsResponse;
+import com.example.talkingCanvas.dto.admin.RevenueBackfillResponse;
+import com.example.talkingCanvas.dto.admin.RevenueRollupDTO;
+import com.example.talkingCanvas.dto.admin.UserSearchFilter;
 import com.example.talkingCanvas.dto.common.ApiResponse;
+import com.example.talkingCanvas.dto.common.CursorPageResponse;
 import com.example.talkingCanvas.dto.common.PageResponse;
 import com.example.talkingCanvas.dto.order.OrderResponse;
 
 import com.example.talkingCanvas.dto.user.UserProfileResponse;
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.model.Order;
+import com.example.talkingCanvas.model.User;
 import com.example.talkingCanvas.service.AdminService;
+import com.example.talkingCanvas.service.DashboardEventService;
+import com.example.talkingCanvas.service.OrderExportService;
+import com.example.talkingCanvas.service.RevenueRollupService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * Controller for admin operations
@@ -30,6 +54,9 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final AdminService adminService;
+    private final DashboardEventService dashboardEventService;
+    private final RevenueRollupService revenueRollupService;
+    private final OrderExportService orderExportService;
 
     // Dashboard Statistics
     @GetMapping("/dashboard/stats")
@@ -39,6 +66,38 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
 
+    @GetMapping(value = "/dashboard/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream dashboard statistics", description = "Server-Sent Events starting with every dashboard figure, then the figures that changed, at most one event per second")
+    public ResponseEntity<SseEmitter> streamDashboardStats() {
+        return dashboardEventService.subscribe()
+                .map(emitter -> ResponseEntity.ok()
+                        // Keeps nginx-style proxies from buffering the stream
+                        .header("X-Accel-Buffering", "no")
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    // Revenue
+    @GetMapping("/revenue")
+    @Operation(summary = "Get revenue by period", description = "Get daily or monthly revenue, order count, average order value and units sold for a date range")
+    public ResponseEntity<ApiResponse<List<RevenueRollupDTO>>> getRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") String granularity) {
+        List<RevenueRollupDTO> revenue = revenueRollupService.getRevenue(from, to,
+                RevenueRollupService.Granularity.of(granularity));
+        return ResponseEntity.ok(ApiResponse.success(revenue));
+    }
+
+    @PostMapping("/revenue/backfill")
+    @Operation(summary = "Backfill revenue rollups", description = "Rebuild the daily revenue rollup from orders, at most 24 months per call; defaults to the first order through today")
+    public ResponseEntity<ApiResponse<RevenueBackfillResponse>> backfillRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        RevenueBackfillResponse result = revenueRollupService.backfill(from, to);
+        return ResponseEntity.ok(ApiResponse.success("Revenue rollups rebuilt", result));
+    }
+
     // User Management
     @GetMapping("/users")
     @Operation(summary = "Get all users", description = "Get paginated list of all users")
@@ -49,6 +108,27 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
+    @GetMapping("/users/search")
+    @Operation(summary = "Search users", description = "Search users by name, email or contact number, filter by role, status and registration date, newest first. Pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<AdminUserSummaryDTO>>> searchUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        UserSearchFilter filter = UserSearchFilter.builder()
+                .query(q)
+                .role(parseRole(role))
+                .active(active)
+                .createdFrom(createdFrom != null ? createdFrom.atStartOfDay() : null)
+                .createdTo(createdTo != null ? createdTo.plusDays(1).atStartOfDay() : null)
+                .build();
+        CursorPageResponse<AdminUserSummaryDTO> users = adminService.searchUsers(filter, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(users));
+    }
+
     @GetMapping("/users/{userId}")
     @Operation(summary = "Get user by ID", description = "Get detailed information about a specific user")
     public ResponseEntity<ApiResponse<UserProfileResponse>> getUserById(@PathVariable Long userId) {
@@ -81,6 +161,44 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
+    @GetMapping("/orders/export")
+    @Operation(summary = "Export orders", description = "Stream all orders placed in a date range as CSV or NDJSON, optionally gzipped; 429 while too many exports are running")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "CSV") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        Order.OrderStatus orderStatus = orderExportService.validate(from, to, status);
+        OrderExportService.Format exportFormat = OrderExportService.Format.of(format);
+        OrderExportService.Slot slot = orderExportService.reserveSlot();
+        try {
+            // The body may never run (executor rejection, client gone or timed out before it
+            // starts), so the slot is also released when async processing ends for any reason
+            WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(OrderExportService.Slot.class,
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                            slot.close();
+                        }
+                    });
+            StreamingResponseBody body = out -> {
+                try (slot) {
+                    orderExportService.export(from, to, orderStatus, exportFormat, gzip, out);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(orderExportService.fileName(from, to, exportFormat, gzip)).build().toString())
+                    .body(body);
+        } catch (RuntimeException ex) {
+            slot.close();
+            throw ex;
+        }
+    }
+
     @PutMapping("/orders/{orderId}/status")
     @Operation(summary = "Update order status", description = "Update order status and tracking information")
     public ResponseEntity<ApiResponse<OrderResponse>> updateOrderStatus(
@@ -97,4 +215,15 @@ public class AdminController {
         adminService.promoteToAdmin(userId);
         return ResponseEntity.ok(ApiResponse.success("User promoted to admin successfully", null));
     }
+
+    private static User.Role parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        try {
+            return User.Role.valueOf(role.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown role: " + role);
+        }
+    }
 }
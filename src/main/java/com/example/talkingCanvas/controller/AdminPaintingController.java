@@ -1,11 +1,14 @@
 package com.example.talkingCanvas.controller;
 
+import com.example.talkingCanvas.dto.admin.UniqueViewersDTO;
 import com.example.talkingCanvas.dto.common.ApiResponse;
 import com.example.talkingCanvas.dto.common.PageResponse;
 import com.example.talkingCanvas.dto.painting.CategoryDTO;
 import com.example.talkingCanvas.dto.painting.CreatePaintingRequest;
 import com.example.talkingCanvas.dto.painting.PaintingResponse;
 import com.example.talkingCanvas.service.PaintingService;
+import com.example.talkingCanvas.service.UniqueViewerService;
+import com.example.talkingCanvas.util.MapperUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -29,6 +32,8 @@ import java.time.LocalDate;
 public class AdminPaintingController {
 
     private final PaintingService paintingService;
+    private final UniqueViewerService uniqueViewerService;
+    private final MapperUtil mapperUtil;
 
     @GetMapping("/paintings")
     @Operation(summary = "Get all paintings for admin", description = "Get paginated list of all paintings including unavailable ones")
@@ -39,14 +44,14 @@ public class AdminPaintingController {
             @RequestParam(defaultValue = "desc") String sortDirection) {
         PageResponse<PaintingResponse> paintings = paintingService.getAllPaintingsForAdmin(page, size, sortBy,
                 sortDirection);
-        return ResponseEntity.ok(ApiResponse.success(paintings));
+        return ResponseEntity.ok(ApiResponse.success(mapperUtil.withAvailability(paintings)));
     }
 
     @PostMapping("/paintings")
     @Operation(summary = "Create a new painting", description = "Create a new painting entry")
     public ResponseEntity<ApiResponse<PaintingResponse>> createPainting(
             @Valid @RequestBody CreatePaintingRequest request) {
-        PaintingResponse painting = paintingService.createPainting(request);
+        PaintingResponse painting = mapperUtil.withAvailability(paintingService.createPainting(request));
         return ResponseEntity.ok(ApiResponse.success(painting));
     }
 
@@ -55,7 +60,7 @@ public class AdminPaintingController {
     public ResponseEntity<ApiResponse<PaintingResponse>> updatePainting(
             @PathVariable Long id,
             @Valid @RequestBody CreatePaintingRequest request) {
-        PaintingResponse painting = paintingService.updatePainting(id, request);
+        PaintingResponse painting = mapperUtil.withAvailability(paintingService.updatePainting(id, request));
         return ResponseEntity.ok(ApiResponse.success(painting));
     }
 
@@ -97,6 +102,16 @@ public class AdminPaintingController {
         return ResponseEntity.ok(ApiResponse.success(null));
     }
 
+    @GetMapping("/paintings/{id}/unique-viewers")
+    @Operation(summary = "Get unique viewers", description = "Get estimated distinct viewers of a painting per day and per month")
+    public ResponseEntity<ApiResponse<UniqueViewersDTO>> getUniqueViewers(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "12") int months) {
+        UniqueViewersDTO viewers = uniqueViewerService.getUniqueViewers(id, days, months);
+        return ResponseEntity.ok(ApiResponse.success(viewers));
+    }
+
     @PostMapping("/categories")
     @Operation(summary = "Create a new category", description = "Create a new painting category")
     public ResponseEntity<ApiResponse<CategoryDTO>> createCategory(
@@ -1,14 +1,17 @@
 package com.example.talkingCanvas.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.talkingCanvas.dto.auth.AuthResponse;
 import com.example.talkingCanvas.dto.auth.LoginRequest;
+import com.example.talkingCanvas.dto.auth.RefreshTokenRequest;
 import com.example.talkingCanvas.dto.auth.RegisterRequest;
 import com.example.talkingCanvas.dto.common.ApiResponse;
 import com.example.talkingCanvas.service.AuthService;
@@ -42,9 +45,26 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    @Operation(summary = "User login", description = "Authenticate user and return JWT token")
+    @Operation(summary = "User login", description = "Authenticate user and return an access token and refresh token")
     public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description = "Exchange a refresh token for a new access token and refresh token; each refresh token can be used once")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed", response));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the refresh token and, if sent, the current access token")
+    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(request, accessToken);
+        return ResponseEntity.ok(ApiResponse.success("Logged out", null));
+    }
 }
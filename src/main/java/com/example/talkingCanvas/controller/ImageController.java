@@ -1,8 +1,7 @@
 package com.example.talkingCanvas.controller;
 
-import com.example.talkingCanvas.exception.ResourceNotFoundException;
-import com.example.talkingCanvas.model.PaintingImage;
-import com.example.talkingCanvas.repository.PaintingImageRepository;
+import com.example.talkingCanvas.dto.painting.ImageContentDTO;
+import com.example.talkingCanvas.service.PaintingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
@@ -21,12 +20,11 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class ImageController {
 
-    private final PaintingImageRepository paintingImageRepository;
+    private final PaintingService paintingService;
 
     @GetMapping("/{id}")
     public ResponseEntity<byte[]> getImage(@PathVariable Long id) {
-        PaintingImage image = paintingImageRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("PaintingImage", "id", id));
+        ImageContentDTO image = paintingService.getImageContent(id);
 
         if (image.getData() == null || image.getData().length == 0) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
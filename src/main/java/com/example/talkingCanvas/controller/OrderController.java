@@ -1,8 +1,10 @@
 package com.example.talkingCanvas.controller;
 
 import com.example.talkingCanvas.dto.common.ApiResponse;
+import com.example.talkingCanvas.dto.common.CursorPageResponse;
 import com.example.talkingCanvas.dto.order.CreateOrderRequest;
 import com.example.talkingCanvas.dto.order.OrderResponse;
+import com.example.talkingCanvas.dto.order.OrderSummaryDTO;
 import com.example.talkingCanvas.security.UserPrincipal;
 import com.example.talkingCanvas.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -50,6 +52,16 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
+    @GetMapping("/history")
+    @Operation(summary = "Get order history", description = "Get current user's orders, newest first, using cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrderSummaryDTO>>> getOrderHistory(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponse<OrderSummaryDTO> history = orderService.getOrderHistory(currentUser.getId(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+
     @GetMapping("/{orderId}")
     @Operation(summary = "Get order by ID", description = "Get detailed information about a specific order")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(
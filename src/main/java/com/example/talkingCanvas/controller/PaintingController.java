@@ -1,19 +1,36 @@
 package com.example.talkingCanvas.controller;
 
+import com.example.talkingCanvas.cache.ResponseCacheFilter;
 import com.example.talkingCanvas.dto.common.ApiResponse;
 import com.example.talkingCanvas.dto.common.PageResponse;
 import com.example.talkingCanvas.dto.painting.CategoryDTO;
 import com.example.talkingCanvas.dto.painting.PaintingResponse;
+import com.example.talkingCanvas.security.UserPrincipal;
+import com.example.talkingCanvas.service.PaintingEventService;
 import com.example.talkingCanvas.service.PaintingService;
+import com.example.talkingCanvas.service.StockHoldService;
+import com.example.talkingCanvas.service.TrendingService;
+import com.example.talkingCanvas.service.UniqueViewerService;
+import com.example.talkingCanvas.service.ViewCountService;
+import com.example.talkingCanvas.util.MapperUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller for public painting endpoints
@@ -26,6 +43,12 @@ import java.util.List;
 public class PaintingController {
 
     private final PaintingService paintingService;
+    private final ViewCountService viewCountService;
+    private final TrendingService trendingService;
+    private final UniqueViewerService uniqueViewerService;
+    private final PaintingEventService paintingEventService;
+    private final StockHoldService stockHoldService;
+    private final MapperUtil mapperUtil;
 
     @GetMapping
     @Operation(summary = "Get all paintings", description = "Get paginated list of all available paintings")
@@ -33,28 +56,66 @@ public class PaintingController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            HttpServletRequest request) {
         log.debug("Fetching paintings with page={}, size={}, sortBy={}, sortDirection={}", page, size, sortBy,
                 sortDirection);
         PageResponse<PaintingResponse> paintings = paintingService.getAllPaintings(page, size, sortBy, sortDirection);
         log.debug("Retrieved {} paintings", paintings.getTotalElements());
-        return ResponseEntity.ok(ApiResponse.success(paintings));
+        return ResponseEntity.ok(ApiResponse.success(withAvailability(paintings, request)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get painting by ID", description = "Get detailed information about a specific painting")
-    public ResponseEntity<ApiResponse<PaintingResponse>> getPaintingById(@PathVariable Long id) {
-        PaintingResponse painting = paintingService.getPaintingById(id);
-        return ResponseEntity.ok(ApiResponse.success(painting));
+    public ResponseEntity<ApiResponse<PaintingResponse>> getPaintingById(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+        PaintingResponse painting = mapperUtil.withAvailability(paintingService.getPaintingById(id));
+        viewCountService.recordView(id);
+        trendingService.record(id, TrendingService.Signal.VIEW);
+        // Behind a trusted proxy the container already resolved the client from X-Forwarded-For
+        uniqueViewerService.recordViewer(id, currentUser != null ? currentUser.getId() : null,
+                request.getRemoteAddr(), request.getHeader(HttpHeaders.USER_AGENT));
+
+        // The cached read model is versioned by updatedAt; clients revalidate with If-None-Match,
+        // which may list several tags, weak tags or *
+        String etag = detailETag(painting);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(painting));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending paintings", description = "Get paintings with the most recent views, cart adds, wishlist adds and purchases")
+    public ResponseEntity<ApiResponse<List<PaintingResponse>>> getTrendingPaintings(
+            @RequestParam(defaultValue = "12") int limit) {
+        List<PaintingResponse> paintings = trendingService.getTrendingPaintings(limit);
+        return ResponseEntity.ok(ApiResponse.success(mapperUtil.withAvailability(paintings)));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream painting changes", description = "Server-Sent Events with availability, price and stock changes, optionally limited to the given painting ids")
+    public ResponseEntity<SseEmitter> streamPaintingEvents(
+            @RequestParam(required = false) Set<Long> ids) {
+        return paintingEventService.subscribe(ids)
+                .map(emitter -> ResponseEntity.ok()
+                        // Keeps nginx-style proxies from buffering the stream
+                        .header("X-Accel-Buffering", "no")
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @GetMapping("/featured")
     @Operation(summary = "Get featured paintings", description = "Get paintings recommended by admin")
     public ResponseEntity<ApiResponse<PageResponse<PaintingResponse>>> getFeaturedPaintings(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size) {
+            @RequestParam(defaultValue = "12") int size,
+            HttpServletRequest request) {
         PageResponse<PaintingResponse> paintings = paintingService.getFeaturedPaintings(page, size);
-        return ResponseEntity.ok(ApiResponse.success(paintings));
+        return ResponseEntity.ok(ApiResponse.success(withAvailability(paintings, request)));
     }
 
     @GetMapping("/search")
@@ -62,9 +123,10 @@ public class PaintingController {
     public ResponseEntity<ApiResponse<PageResponse<PaintingResponse>>> searchPaintings(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size) {
+            @RequestParam(defaultValue = "12") int size,
+            HttpServletRequest request) {
         PageResponse<PaintingResponse> paintings = paintingService.searchPaintings(query, page, size);
-        return ResponseEntity.ok(ApiResponse.success(paintings));
+        return ResponseEntity.ok(ApiResponse.success(withAvailability(paintings, request)));
     }
 
     @GetMapping("/filter/price")
@@ -73,9 +135,10 @@ public class PaintingController {
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size) {
+            @RequestParam(defaultValue = "12") int size,
+            HttpServletRequest request) {
         PageResponse<PaintingResponse> paintings = paintingService.filterByPriceRange(minPrice, maxPrice, page, size);
-        return ResponseEntity.ok(ApiResponse.success(paintings));
+        return ResponseEntity.ok(ApiResponse.success(withAvailability(paintings, request)));
     }
 
     @GetMapping("/categories")
@@ -84,4 +147,22 @@ public class PaintingController {
         List<CategoryDTO> categories = paintingService.getAllCategories();
         return ResponseEntity.ok(ApiResponse.success(categories));
     }
+
+    /**
+     * Adds availability to a cached page. The hold totals are handed to the HTTP cache before
+     * availability is computed, so a hold changing in between leaves its entry stale, not wrong.
+     */
+    private PageResponse<PaintingResponse> withAvailability(PageResponse<PaintingResponse> paintings,
+            HttpServletRequest request) {
+        request.setAttribute(ResponseCacheFilter.HELD_QUANTITIES_ATTRIBUTE, stockHoldService.getHeldQuantities(
+                paintings.getContent().stream().map(PaintingResponse::getId).toList()));
+        return mapperUtil.withAvailability(paintings);
+    }
+
+    private static String detailETag(PaintingResponse painting) {
+        long version = painting.getUpdatedAt() == null ? 0
+                : painting.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        // Available quantity changes with cart holds without touching updatedAt
+        return "\"" + painting.getId() + "-" + version + "-" + painting.getAvailableQuantity() + "\"";
+    }
 }
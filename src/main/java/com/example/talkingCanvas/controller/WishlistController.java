@@ -5,6 +5,7 @@ import com.example.talkingCanvas.dto.wishlist.AddToWishlistRequest;
 import com.example.talkingCanvas.dto.wishlist.WishlistResponse;
 import com.example.talkingCanvas.security.UserPrincipal;
 import com.example.talkingCanvas.service.WishlistService;
+import com.example.talkingCanvas.util.MapperUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,13 +27,14 @@ import java.util.ArrayList;
 public class WishlistController {
 
     private final WishlistService wishlistService;
+    private final MapperUtil mapperUtil;
 
     @GetMapping
     @Operation(summary = "Get wishlist", description = "Get current user's wishlist")
     public ResponseEntity<ApiResponse<WishlistResponse>> getWishlist(
             @AuthenticationPrincipal UserPrincipal currentUser) {
         if (currentUser != null) {
-            WishlistResponse wishlist = wishlistService.getWishlist(currentUser.getId());
+            WishlistResponse wishlist = mapperUtil.withAvailability(wishlistService.getWishlist(currentUser.getId()));
             return ResponseEntity.ok(ApiResponse.success(wishlist));
         } else {
             // Return empty wishlist for anonymous users
@@ -50,7 +52,8 @@ public class WishlistController {
     public ResponseEntity<ApiResponse<WishlistResponse>> addToWishlist(
             @AuthenticationPrincipal UserPrincipal currentUser,
             @Valid @RequestBody AddToWishlistRequest request) {
-        WishlistResponse wishlist = wishlistService.addToWishlist(currentUser.getId(), request);
+        WishlistResponse wishlist = mapperUtil.withAvailability(
+                wishlistService.addToWishlist(currentUser.getId(), request));
         return ResponseEntity.ok(ApiResponse.success("Painting added to wishlist", wishlist));
     }
 
@@ -60,7 +63,8 @@ public class WishlistController {
     public ResponseEntity<ApiResponse<WishlistResponse>> removeFromWishlist(
             @AuthenticationPrincipal UserPrincipal currentUser,
             @PathVariable Long itemId) {
-        WishlistResponse wishlist = wishlistService.removeFromWishlist(currentUser.getId(), itemId);
+        WishlistResponse wishlist = mapperUtil.withAvailability(
+                wishlistService.removeFromWishlist(currentUser.getId(), itemId));
         return ResponseEntity.ok(ApiResponse.success("Painting removed from wishlist", wishlist));
     }
 
@@ -0,0 +1,27 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a user row in the admin user search, without addresses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminUserSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String contactNumber;
+    private String profileEmoji;
+    private String role;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+}
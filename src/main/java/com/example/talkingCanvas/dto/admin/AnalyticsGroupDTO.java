@@ -0,0 +1,24 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the sales of one analytics group, such as a category or weekday
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsGroupDTO {
+
+    private String key;
+    private BigDecimal revenue;
+    private Long units;
+    private Long lineItems;
+    private BigDecimal revenueShare;
+}
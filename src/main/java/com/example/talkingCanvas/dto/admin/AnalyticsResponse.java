@@ -0,0 +1,30 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for an ad-hoc sales analytics query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsResponse {
+
+    private String groupBy;
+    private LocalDate from;
+    private LocalDate to;
+    private String currency;
+    private BigDecimal totalRevenue;
+    private Long totalUnits;
+    private Long totalLineItems;
+    private List<AnalyticsGroupDTO> groups;
+    private Integer factsScanned;
+}
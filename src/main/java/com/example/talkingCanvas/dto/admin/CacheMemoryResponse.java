@@ -0,0 +1,22 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for cache memory usage against the global cache budget
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheMemoryResponse {
+
+    private Long budgetBytes;
+    private Long usedBytes;
+    private List<CacheStatsDTO> caches;
+}
@@ -0,0 +1,25 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a cache policy change record
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CachePolicyAuditDTO {
+
+    private Long id;
+    private String cacheName;
+    private String changedBy;
+    private String previousPolicy;
+    private String newPolicy;
+    private LocalDateTime changedAt;
+}
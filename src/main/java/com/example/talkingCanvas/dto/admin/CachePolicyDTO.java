@@ -0,0 +1,21 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the effective policy of a cache
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CachePolicyDTO {
+
+    private String name;
+    private Long maximumBytes;
+    private Long ttlSeconds;
+    private boolean overridden;
+}
@@ -0,0 +1,23 @@
+package com.example.talkingCanvas.dto.admin;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for changing a cache policy at runtime. Fields left null keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CachePolicyRequest {
+
+    @Min(value = 1024, message = "Maximum bytes must be at least 1024")
+    private Long maximumBytes;
+
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    private Long ttlSeconds;
+}
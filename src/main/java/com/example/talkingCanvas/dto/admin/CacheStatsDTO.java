@@ -0,0 +1,32 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the memory footprint and hit statistics of a single cache
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+
+    private String name;
+    private Long entries;
+    private Long weightedBytes;
+    private Long maximumBytes;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long evictionCount;
+
+    // Compressed tier, only present for tiered caches
+    private Long compressedEntries;
+    private Long compressedBytes;
+    private Double compressionRatio;
+    private Long decompressCount;
+    private Double avgDecompressMicros;
+}
@@ -0,0 +1,45 @@
+package com.example.talkingCanvas.dto.admin;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for dashboard figures pushed over Server-Sent Events. The first event of a stream carries
+ * every field; later ones only the fields that changed, with their new values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardStatsEventDTO {
+
+    private Long totalUsers;
+    private Long activeUsers;
+    private Long newUsersThisMonth;
+
+    private Long totalOrders;
+    private Long pendingOrders;
+    private Long confirmedOrders;
+    private Long shippedOrders;
+    private Long deliveredOrders;
+    private Long cancelledOrders;
+
+    private BigDecimal totalRevenue;
+    private BigDecimal revenueThisMonth;
+    private BigDecimal revenueThisYear;
+
+    private Long totalPaintings;
+    private Long availablePaintings;
+    private Long outOfStockPaintings;
+
+    private Map<String, Long> orderStatusDistribution;
+    private List<MonthlyRevenueDTO> monthlyRevenueTrend;
+}
@@ -23,4 +23,6 @@ public class PopularPaintingDTO {
     private String primaryImage;
     private Long viewCount;
     private Long purchaseCount;
+    private Long uniqueViewersToday;
+    private Long uniqueViewersThisMonth;
 }
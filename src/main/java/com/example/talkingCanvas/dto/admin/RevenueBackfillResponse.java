@@ -0,0 +1,23 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for the outcome of a revenue rollup backfill
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueBackfillResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Integer monthsRebuilt;
+    private Integer daysWithOrders;
+}
@@ -0,0 +1,25 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the revenue of one day or month
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueRollupDTO {
+
+    private LocalDate periodStart;
+    private BigDecimal revenue;
+    private Long orderCount;
+    private BigDecimal averageOrderValue;
+    private Long units;
+}
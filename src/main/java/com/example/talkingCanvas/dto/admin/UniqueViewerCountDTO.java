@@ -0,0 +1,21 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for the estimated unique viewers in one day or month
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UniqueViewerCountDTO {
+
+    private LocalDate periodStart;
+    private Long uniqueViewers;
+}
@@ -0,0 +1,22 @@
+package com.example.talkingCanvas.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for estimated unique viewers of a painting per day and per month
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UniqueViewersDTO {
+
+    private Long paintingId;
+    private List<UniqueViewerCountDTO> daily;
+    private List<UniqueViewerCountDTO> monthly;
+}
@@ -0,0 +1,28 @@
+package com.example.talkingCanvas.dto.admin;
+
+import com.example.talkingCanvas.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for admin user search criteria; null fields do not filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSearchFilter {
+
+    /** Matched anywhere in the name, email or contact number, ignoring case; kept out of toString as it is PII */
+    @ToString.Exclude
+    private String query;
+    private User.Role role;
+    private Boolean active;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
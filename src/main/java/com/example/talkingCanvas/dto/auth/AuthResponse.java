@@ -22,4 +22,6 @@ public class AuthResponse {
     private String email;
     private String role;
     private Long expiresIn; // in milliseconds
+    private String refreshToken;
+    private Long refreshExpiresIn; // in milliseconds
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * DTO for cart item
@@ -27,4 +28,5 @@ public class CartItemDTO {
     private BigDecimal subtotal;
     private Boolean isAvailable;
     private Integer stockQuantity;
+    private LocalDateTime holdExpiresAt;
 }
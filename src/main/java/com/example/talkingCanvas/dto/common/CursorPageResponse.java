@@ -0,0 +1,23 @@
+package com.example.talkingCanvas.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Generic keyset-paginated response wrapper. Pass {@code nextCursor} back to fetch the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private Integer pageSize;
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.example.talkingCanvas.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outbox payload of an order confirmation email
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderConfirmationEmailPayload {
+
+    private String orderNumber;
+    private String customerEmail;
+    private String customerName;
+    private String totalAmount;
+}
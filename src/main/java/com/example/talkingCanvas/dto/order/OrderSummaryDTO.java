@@ -0,0 +1,35 @@
+package com.example.talkingCanvas.dto.order;
+
+import com.example.talkingCanvas.dto.user.AddressDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for an order in the order history; unlike OrderResponse it carries no user profile or
+ * admin contact
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryDTO {
+
+    private Long id;
+    private String orderNumber;
+    private List<OrderItemDTO> items;
+    private BigDecimal totalAmount;
+    private String currency;
+    private AddressDTO deliveryAddress;
+    private String orderStatus;
+    private String paymentMethod;
+    private String trackingInfo;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
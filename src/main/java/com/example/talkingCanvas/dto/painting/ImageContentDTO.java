@@ -0,0 +1,21 @@
+package com.example.talkingCanvas.dto.painting;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for raw image bytes served by the image endpoint
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageContentDTO {
+
+    private Long id;
+    private byte[] data;
+    private String fileName;
+    private String contentType;
+}
@@ -0,0 +1,27 @@
+package com.example.talkingCanvas.dto.painting;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for a painting change pushed over Server-Sent Events, carrying the painting's full current
+ * price and stock state
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaintingEventDTO {
+
+    private Long paintingId;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private Integer availableQuantity;
+    private Boolean isAvailable;
+}
@@ -15,7 +15,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class PaintingResponse {
 
     private Long id;
@@ -31,6 +31,8 @@ public class PaintingResponse {
     private Integer yearCreated;
     private Boolean isAvailable;
     private Integer stockQuantity;
+    private Integer availableQuantity;
+    private Boolean onHold;
     private Boolean adminRecommendation;
     private String recommendationText;
     private List<PaintingImageDTO> images;
@@ -0,0 +1,8 @@
+package com.example.talkingCanvas.event;
+
+/**
+ * Published when a painting's price, stock, availability or cart holds may have changed.
+ * Listeners act after the publishing transaction commits.
+ */
+public record PaintingChangedEvent(Long paintingId) {
+}
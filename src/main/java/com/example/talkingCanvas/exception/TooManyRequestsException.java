@@ -0,0 +1,11 @@
+package com.example.talkingCanvas.exception;
+
+/**
+ * Exception thrown when a limited resource is busy and the request should be retried later
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
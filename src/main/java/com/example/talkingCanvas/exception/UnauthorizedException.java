@@ -0,0 +1,11 @@
+package com.example.talkingCanvas.exception;
+
+/**
+ * Exception thrown when a token or session can no longer be used
+ */
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.talkingCanvas.idempotency;
+
+/**
+ * Raised when an Idempotency-Key cannot be honoured: reused for a different request, or still
+ * held by a request that has not finished
+ */
+public class IdempotencyException extends RuntimeException {
+
+    private final int status;
+
+    public IdempotencyException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
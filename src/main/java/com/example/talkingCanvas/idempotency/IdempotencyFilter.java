@@ -0,0 +1,152 @@
+package com.example.talkingCanvas.idempotency;
+
+import com.example.talkingCanvas.dto.common.ApiResponse;
+import com.example.talkingCanvas.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Honours the {@code Idempotency-Key} header on mutating cart and order requests. The first
+ * request with a key runs normally and its response is recorded; retries with the same key,
+ * including ones arriving while the first is still running, get that response replayed with an
+ * {@code Idempotent-Replayed: true} header. Server errors are not recorded, so they can be retried.
+ * <p>
+ * Runs after Spring Security, as keys are scoped to the authenticated user.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> PATH_PREFIXES = List.of("/api/orders", "/api/cart");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null || HttpMethod.GET.matches(request.getMethod())
+                || HttpMethod.HEAD.matches(request.getMethod()) || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return PATH_PREFIXES.stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        Long userId = principal.getId();
+        CachedBodyRequest cachedRequest;
+        IdempotentResponse recorded;
+        String fingerprint;
+        try {
+            cachedRequest = new CachedBodyRequest(request, maxBodyBytes);
+            fingerprint = fingerprint(cachedRequest);
+            recorded = store.acquire(userId, key, fingerprint);
+        } catch (IdempotencyException ex) {
+            writeError(response, ex.getStatus(), ex.getMessage());
+            return;
+        }
+        if (recorded != null) {
+            replay(recorded, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(cachedRequest, wrapper);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            store.release(userId, key);
+            throw ex;
+        }
+
+        try {
+            if (wrapper.getStatus() >= 500) {
+                store.release(userId, key);
+            } else {
+                store.complete(userId, key, new IdempotentResponse(fingerprint, wrapper.getStatus(),
+                        wrapper.getContentType(), wrapper.getContentAsByteArray()));
+            }
+        } catch (RuntimeException ex) {
+            // The request itself went through; the client still gets its response
+            logger.error("Failed to record idempotent response of user {}: {}", userId, ex.getMessage());
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse recorded, HttpServletResponse response) throws IOException {
+        response.setStatus(recorded.status());
+        if (recorded.contentType() != null) {
+            response.setContentType(recorded.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = recorded.body() == null ? new byte[0] : recorded.body();
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(ApiResponse.error(message)));
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI()).getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update(("?" + request.getQueryString()).getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.getBody());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.talkingCanvas.idempotency;
+
+import com.example.talkingCanvas.model.IdempotencyRecord;
+import com.example.talkingCanvas.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks Idempotency-Keys so a retried request gets the first attempt's response instead of
+ * running again.
+ * <p>
+ * Completed responses are kept in memory for the fast path and in {@code idempotency_keys} for
+ * other instances and restarts. A key being executed on this instance has a future that
+ * concurrent duplicates wait on; across instances the {@code IN_PROGRESS} row plays that role
+ * and duplicates poll it.
+ * <p>
+ * The row carries a random owner token. Its lock is extended while the request runs, so another
+ * instance only takes the key over after the owner died, and only the owner can complete or
+ * release it.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final long waitTimeoutMillis;
+
+    private final Cache<String, IdempotentResponse> completed;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.lock-seconds:120}") long lockSeconds,
+            @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis,
+            @Value("${idempotency.memory-entries:10000}") long memoryEntries) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lockTimeout = Duration.ofSeconds(lockSeconds);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(memoryEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the recorded response for the key, waiting for a concurrent attempt to finish if
+     * necessary, or {@code null} when the caller now owns the key and must execute the request
+     * and then call {@link #complete} or {@link #release}
+     *
+     * @throws IdempotencyException if the key was used for another request or stays locked too long
+     */
+    public IdempotentResponse acquire(Long userId, String key, String fingerprint) {
+        String memoryKey = userId + ":" + key;
+        while (true) {
+            IdempotentResponse done = completed.getIfPresent(memoryKey);
+            if (done != null) {
+                return verified(done, fingerprint);
+            }
+
+            InFlight mine = new InFlight(userId, key, UUID.randomUUID().toString(), new CompletableFuture<>());
+            InFlight running = inFlight.putIfAbsent(memoryKey, mine);
+            if (running != null) {
+                IdempotentResponse result = await(running.future());
+                if (result != null) {
+                    return verified(result, fingerprint);
+                }
+                // The first attempt failed without a response worth replaying; take over the key
+                continue;
+            }
+
+            try {
+                IdempotentResponse stored = claim(userId, key, fingerprint, mine.owner());
+                if (stored != null) {
+                    completed.put(memoryKey, stored);
+                    finish(memoryKey, mine, stored);
+                    return verified(stored, fingerprint);
+                }
+                return null;
+            } catch (RuntimeException ex) {
+                finish(memoryKey, mine, null);
+                throw ex;
+            }
+        }
+    }
+
+    public void complete(Long userId, String key, IdempotentResponse response) {
+        String memoryKey = userId + ":" + key;
+        InFlight mine = inFlight.get(memoryKey);
+        // Replayed on this instance even if storing it below fails
+        completed.put(memoryKey, response);
+        try {
+            int stored = repository.complete(userId, key, mine == null ? null : mine.owner(), response.fingerprint(),
+                    response.status(), response.contentType(), response.body(), LocalDateTime.now().plus(ttl));
+            if (stored == 0) {
+                // Taken over after the lock expired; the other attempt's outcome is the one replayed
+                completed.invalidate(memoryKey);
+                logger.warn("Idempotency key of user {} was taken over before its response was stored", userId);
+            }
+        } finally {
+            finish(memoryKey, mine, response);
+        }
+    }
+
+    /**
+     * Gives up a key without recording a response, e.g. after a server error, so a retry runs again
+     */
+    public void release(Long userId, String key) {
+        String memoryKey = userId + ":" + key;
+        InFlight mine = inFlight.get(memoryKey);
+        try {
+            if (mine != null) {
+                repository.release(userId, key, mine.owner());
+            }
+        } finally {
+            finish(memoryKey, mine, null);
+        }
+    }
+
+    /**
+     * Extends the locks of keys whose requests are still running here, so they do not expire
+     * and get taken over by another instance mid-request
+     */
+    @Scheduled(fixedDelayString = "${idempotency.lock-refresh-ms:30000}",
+            initialDelayString = "${idempotency.lock-refresh-ms:30000}")
+    public void refreshLocks() {
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(lockTimeout);
+        for (InFlight running : inFlight.values()) {
+            try {
+                repository.extendLock(running.userId(), running.key(), running.owner(), lockedUntil);
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to extend idempotency lock of user {}: {}", running.userId(), ex.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 15 * * * *")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private IdempotentResponse claim(Long userId, String key, String fingerprint, String owner) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            if (repository.claim(userId, key, fingerprint, owner, now, now.plus(lockTimeout)) == 1) {
+                return null;
+            }
+            Optional<IdempotencyRecord> existing = repository.findByUserIdAndIdempotencyKey(userId, key);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            IdempotencyRecord record = existing.get();
+            if (!record.getExpiresAt().isAfter(now)) {
+                repository.releaseIfExpired(userId, key, now);
+                continue;
+            }
+            if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                return new IdempotentResponse(record.getRequestFingerprint(), record.getResponseStatus(),
+                        record.getContentType(), record.getResponseBody());
+            }
+            if (!record.getRequestFingerprint().equals(fingerprint)) {
+                throw mismatch();
+            }
+            // Being executed by another instance
+            if (System.currentTimeMillis() >= deadline) {
+                throw stillRunning();
+            }
+            sleep();
+        }
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> running) {
+        try {
+            return running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw stillRunning();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    private void finish(String memoryKey, InFlight attempt, IdempotentResponse result) {
+        if (attempt != null) {
+            inFlight.remove(memoryKey, attempt);
+            attempt.future().complete(result);
+        }
+    }
+
+    private static IdempotentResponse verified(IdempotentResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            throw mismatch();
+        }
+        return response;
+    }
+
+    private static IdempotencyException mismatch() {
+        return new IdempotencyException(422, "Idempotency-Key was already used for a different request");
+    }
+
+    private static IdempotencyException stillRunning() {
+        return new IdempotencyException(409, "A request with this Idempotency-Key is still being processed");
+    }
+
+    /**
+     * Attempt executing a key on this instance
+     */
+    private record InFlight(Long userId, String key, String owner, CompletableFuture<IdempotentResponse> future) {
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.talkingCanvas.idempotency;
+
+/**
+ * Recorded response of an idempotent request, together with the fingerprint of the request
+ * that produced it
+ */
+public record IdempotentResponse(String fingerprint, int status, String contentType, byte[] body) {
+}
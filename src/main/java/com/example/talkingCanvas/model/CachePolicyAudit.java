@@ -0,0 +1,42 @@
+package com.example.talkingCanvas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit record of a runtime cache policy change
+ */
+@Entity
+@Table(name = "cache_policy_audit")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CachePolicyAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String cacheName;
+
+    @Column(nullable = false)
+    private String changedBy;
+
+    @Column(columnDefinition = "TEXT")
+    private String previousPolicy;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String newPolicy;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,39 @@
+package com.example.talkingCanvas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Revenue of one day's orders, excluding cancelled ones
+ */
+@Entity
+@Table(name = "revenue_daily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenue {
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
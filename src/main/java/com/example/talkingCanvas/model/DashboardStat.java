@@ -0,0 +1,33 @@
+package com.example.talkingCanvas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One running dashboard figure, such as the number of pending orders or a month's revenue,
+ * maintained incrementally by the writes that change it
+ */
+@Entity
+@Table(name = "dashboard_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardStat {
+
+    @Id
+    @Column(name = "stat_key", length = 64)
+    private String statKey;
+
+    @Column(name = "stat_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal statValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -21,8 +21,10 @@ import java.util.List;
  */
 @Entity
 @Table(name = "orders", indexes = {
-    @Index(name = "idx_order_user", columnList = "user_id"),
+    @Index(name = "idx_order_user_created", columnList = "user_id, created_at, id"),
     @Index(name = "idx_order_status", columnList = "order_status"),
+    @Index(name = "idx_order_created", columnList = "created_at"),
+    @Index(name = "idx_order_updated", columnList = "updated_at"),
     @Index(name = "idx_order_number", columnList = "order_number")
 })
 @Data
@@ -16,7 +16,9 @@ import java.math.BigDecimal;
  * Order item entity representing individual items in an order
  */
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+    @Index(name = "idx_order_item_order", columnList = "order_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,7 +39,9 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "paintings", indexes = {
         @Index(name = "idx_painting_available", columnList = "is_available"),
-        @Index(name = "idx_painting_price", columnList = "price")
+        @Index(name = "idx_painting_price", columnList = "price"),
+        @Index(name = "idx_painting_view_count", columnList = "view_count"),
+        @Index(name = "idx_painting_purchase_count", columnList = "purchase_count")
 })
 @Data
 @NoArgsConstructor
@@ -153,6 +155,14 @@ public class Painting {
         this.purchaseCount++;
     }
 
+    /**
+     * Bumps {@code updatedAt} for changes made only to child rows (images, certificates),
+     * so the painting's version changes with them
+     */
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public String getSeoDescription() {
         return this.seoDescription;
     }
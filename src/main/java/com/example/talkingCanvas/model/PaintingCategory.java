@@ -7,7 +7,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -33,6 +35,10 @@ public class PaintingCategory {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToMany(mappedBy = "categories")
     @Builder.Default
     @EqualsAndHashCode.Exclude
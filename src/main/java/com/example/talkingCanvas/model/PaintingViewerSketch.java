@@ -0,0 +1,53 @@
+package com.example.talkingCanvas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * HyperLogLog sketch of the distinct viewers of a painting during one day or month
+ */
+@Entity
+@Table(name = "painting_viewer_sketches", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_viewer_sketch_period", columnNames = { "painting_id", "period_type", "period_start" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaintingViewerSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "painting_id", nullable = false)
+    private Long paintingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 10)
+    private PeriodType periodType;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "registers", nullable = false)
+    private byte[] registers;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum PeriodType {
+        DAY, MONTH
+    }
+}
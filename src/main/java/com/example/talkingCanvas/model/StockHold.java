@@ -0,0 +1,40 @@
+package com.example.talkingCanvas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited soft reservation of painting stock by a cart. Only used to rebuild the
+ * in-memory holds after a restart.
+ */
+@Entity
+@Table(name = "stock_holds", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_hold_user_painting", columnNames = { "user_id", "painting_id" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "painting_id", nullable = false)
+    private Long paintingId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,55 @@
+package com.example.talkingCanvas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revocation of access tokens before they expire, shared between instances: either one token by
+ * id, or every token of a user below a token version. Kept until the tokens it covers have
+ * expired.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "idx_token_revocation_created", columnList = "created_at"),
+        @Index(name = "idx_token_revocation_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    /** Token id for {@link Kind#TOKEN}, user id for {@link Kind#USER} */
+    @Column(nullable = false, length = 64)
+    private String subject;
+
+    /** For {@link Kind#USER}: tokens with a lower version are revoked */
+    @Column(name = "min_version")
+    private Integer minVersion;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Kind {
+        TOKEN,
+        USER
+    }
+}
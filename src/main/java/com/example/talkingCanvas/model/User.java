@@ -21,7 +21,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "users", indexes = {
-        @Index(name = "idx_user_email", columnList = "email")
+        @Index(name = "idx_user_email", columnList = "email"),
+        @Index(name = "idx_user_created", columnList = "created_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -63,6 +64,11 @@ public class User {
     @Builder.Default
     private Boolean isActive = true;
 
+    /** Embedded in access tokens; raising it revokes every access token issued before */
+    @Column(name = "token_version", columnDefinition = "integer default 0", nullable = false)
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @EqualsAndHashCode.Exclude
@@ -0,0 +1,16 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.model.CachePolicyAudit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for CachePolicyAudit entity
+ */
+@Repository
+public interface CachePolicyAuditRepository extends JpaRepository<CachePolicyAudit, Long> {
+
+    Page<CachePolicyAudit> findAllByOrderByChangedAtDesc(Pageable pageable);
+}
@@ -0,0 +1,48 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.model.DailyRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for DailyRevenue entity
+ */
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, LocalDate> {
+
+    List<DailyRevenue> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO revenue_daily (day, revenue, order_count, units, updated_at) " +
+            "VALUES (:day, :revenue, :orders, :units, now()) " +
+            "ON CONFLICT (day) DO UPDATE SET revenue = revenue_daily.revenue + EXCLUDED.revenue, " +
+            "order_count = revenue_daily.order_count + EXCLUDED.order_count, " +
+            "units = revenue_daily.units + EXCLUDED.units, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int addDelta(@Param("day") LocalDate day, @Param("revenue") BigDecimal revenue, @Param("orders") long orders,
+                 @Param("units") long units);
+
+    @Modifying
+    @Query(value = "DELETE FROM revenue_daily WHERE day >= :from AND day < :to", nativeQuery = true)
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Recomputes the days in {@code [from, to)} from the orders placed on them
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revenue_daily (day, revenue, order_count, units, updated_at) " +
+            "SELECT CAST(o.created_at AS date), SUM(o.total_amount), COUNT(*), " +
+            "COALESCE(SUM((SELECT SUM(i.quantity) FROM order_items i WHERE i.order_id = o.id)), 0), now() " +
+            "FROM orders o WHERE o.order_status <> 'CANCELLED' AND o.created_at >= :from AND o.created_at < :to " +
+            "GROUP BY CAST(o.created_at AS date) " +
+            "ON CONFLICT (day) DO UPDATE SET revenue = EXCLUDED.revenue, order_count = EXCLUDED.order_count, " +
+            "units = EXCLUDED.units, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int rebuildFromOrders(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
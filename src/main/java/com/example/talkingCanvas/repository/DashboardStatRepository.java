@@ -0,0 +1,41 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.model.DashboardStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Repository for DashboardStat entity
+ */
+@Repository
+public interface DashboardStatRepository extends JpaRepository<DashboardStat, String> {
+
+    /**
+     * Adds {@code delta} to a figure, creating it if needed. The row stays locked until the
+     * caller's transaction ends, so concurrent writers never lose each other's increments.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_stats (stat_key, stat_value, updated_at) VALUES (:key, :delta, now()) " +
+            "ON CONFLICT (stat_key) DO UPDATE SET stat_value = dashboard_stats.stat_value + EXCLUDED.stat_value, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int addDelta(@Param("key") String key, @Param("delta") BigDecimal delta);
+
+    /**
+     * Takes a transaction-level advisory lock, waiting for it if another transaction holds it
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    Integer lockForTransaction(@Param("lockKey") long lockKey);
+
+    /**
+     * Takes a transaction-level advisory lock if it is free
+     *
+     * @return whether the lock was taken
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryLockForTransaction(@Param("lockKey") long lockKey);
+}
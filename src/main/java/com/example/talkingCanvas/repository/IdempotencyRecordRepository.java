@@ -0,0 +1,77 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for IdempotencyRecord entity
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Claims a key; returns 0 when another request already holds it
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_fingerprint, status, owner_token, " +
+            "created_at, expires_at) VALUES (:userId, :key, :fingerprint, 'IN_PROGRESS', :owner, :now, :lockedUntil) " +
+            "ON CONFLICT (user_id, idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("userId") Long userId, @Param("key") String key, @Param("fingerprint") String fingerprint,
+            @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Records the response; returns 0 when the key is no longer held by this owner (its lock
+     * expired and another attempt took it over), leaving that attempt's outcome in place
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.example.talkingCanvas.model.IdempotencyRecord.Status.COMPLETED, " +
+            "r.responseStatus = :responseStatus, r.contentType = :contentType, r.responseBody = :body, " +
+            "r.expiresAt = :expiresAt WHERE r.userId = :userId AND r.idempotencyKey = :key " +
+            "AND r.ownerToken = :owner AND r.requestFingerprint = :fingerprint " +
+            "AND r.status = com.example.talkingCanvas.model.IdempotencyRecord.Status.IN_PROGRESS")
+    int complete(@Param("userId") Long userId, @Param("key") String key, @Param("owner") String owner,
+            @Param("fingerprint") String fingerprint, @Param("responseStatus") int responseStatus,
+            @Param("contentType") String contentType, @Param("body") byte[] body,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Pushes back the lock of a key this owner is still executing
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :lockedUntil WHERE r.userId = :userId " +
+            "AND r.idempotencyKey = :key AND r.ownerToken = :owner " +
+            "AND r.status = com.example.talkingCanvas.model.IdempotencyRecord.Status.IN_PROGRESS")
+    int extendLock(@Param("userId") Long userId, @Param("key") String key, @Param("owner") String owner,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.userId = :userId AND r.idempotencyKey = :key " +
+            "AND r.ownerToken = :owner " +
+            "AND r.status = com.example.talkingCanvas.model.IdempotencyRecord.Status.IN_PROGRESS")
+    int release(@Param("userId") Long userId, @Param("key") String key, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.userId = :userId AND r.idempotencyKey = :key AND r.expiresAt <= :now")
+    int releaseIfExpired(@Param("userId") Long userId, @Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,12 +1,44 @@
 package com.example.talkingCanvas.repository;
 
 import com.example.talkingCanvas.model.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository for OrderItem entity
  */
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * Item columns for a set of orders as {orderId, itemId, paintingId, paintingTitle, artistName,
+     * quantity, priceAtPurchase}. Reads the painting foreign key only, so no painting is loaded.
+     */
+    @Query("SELECT i.order.id, i.id, i.painting.id, i.paintingTitle, i.artistName, i.quantity, i.priceAtPurchase " +
+           "FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<Object[]> findItemRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Analytics facts as {orderId, itemId, orderCreatedAt, orderStatus, paintingId, quantity,
+     * priceAtPurchase}, in (order id, item id) order after the given position
+     */
+    @Query("SELECT o.id, i.id, o.createdAt, o.orderStatus, i.painting.id, i.quantity, i.priceAtPurchase " +
+           "FROM OrderItem i JOIN i.order o " +
+           "WHERE o.id > :orderId OR (o.id = :orderId AND i.id > :itemId) ORDER BY o.id, i.id")
+    List<Object[]> findFactRowsAfter(@Param("orderId") Long orderId, @Param("itemId") Long itemId, Pageable pageable);
+
+    /**
+     * Analytics facts, as in {@link #findFactRowsAfter}, of the orders placed or changed since
+     * {@code since}
+     */
+    @Query("SELECT o.id, i.id, o.createdAt, o.orderStatus, i.painting.id, i.quantity, i.priceAtPurchase " +
+           "FROM OrderItem i JOIN i.order o WHERE o.updatedAt >= :since ORDER BY o.id, i.id")
+    List<Object[]> findFactRowsUpdatedSince(@Param("since") LocalDateTime since);
 }
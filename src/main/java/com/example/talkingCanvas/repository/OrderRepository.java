@@ -20,6 +20,16 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Page<Order> findByUserId(Long userId, Pageable pageable);
 
+    @Query("SELECT o FROM Order o JOIN FETCH o.deliveryAddress WHERE o.user.id = :userId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT o FROM Order o JOIN FETCH o.deliveryAddress WHERE o.user.id = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable pageable);
+
     List<Order> findByUserId(Long userId);
 
     Page<Order> findByOrderStatus(Order.OrderStatus orderStatus, Pageable pageable);
@@ -32,6 +42,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.orderStatus != 'CANCELLED' AND o.createdAt >= :startDate")
     BigDecimal calculateRevenueAfter(@Param("startDate") LocalDateTime startDate);
 
+    @Query("SELECT MIN(o.createdAt) FROM Order o")
+    LocalDateTime findEarliestCreatedAt();
+
     @Query("SELECT o.orderStatus, COUNT(o) FROM Order o GROUP BY o.orderStatus")
     List<Object[]> getOrderStatusDistribution();
 
@@ -40,4 +53,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "GROUP BY YEAR(o.createdAt), MONTH(o.createdAt) " +
            "ORDER BY YEAR(o.createdAt) DESC, MONTH(o.createdAt) DESC")
     List<Object[]> getMonthlyRevenueTrend();
+
+    @Query("SELECT YEAR(o.createdAt), MONTH(o.createdAt), SUM(i.quantity) " +
+           "FROM Order o JOIN o.items i WHERE o.orderStatus != 'CANCELLED' " +
+           "GROUP BY YEAR(o.createdAt), MONTH(o.createdAt)")
+    List<Object[]> getMonthlyUnitsSold();
 }
@@ -0,0 +1,37 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for OutboxEvent entity
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks due events of the given types; rows already locked by another instance's worker are
+     * skipped rather than waited for
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "AND event_type IN (:types) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("types") Collection<String> types,
+            @Param("limit") int limit);
+
+    long countByStatus(OutboxEvent.Status status);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.example.talkingCanvas.model.OutboxEvent.Status.SENT " +
+            "AND e.processedAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -2,8 +2,10 @@ package com.example.talkingCanvas.repository;
 
 import com.example.talkingCanvas.model.PaintingCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -15,4 +17,10 @@ public interface PaintingCategoryRepository extends JpaRepository<PaintingCatego
     Optional<PaintingCategory> findByName(String name);
 
     Boolean existsByName(String name);
+
+    @Query("SELECT MAX(c.id) FROM PaintingCategory c")
+    Long findMaxId();
+
+    @Query("SELECT MAX(c.updatedAt) FROM PaintingCategory c")
+    LocalDateTime findLatestUpdatedAt();
 }
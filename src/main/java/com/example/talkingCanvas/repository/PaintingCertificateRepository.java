@@ -2,6 +2,7 @@ package com.example.talkingCanvas.repository;
 
 import com.example.talkingCanvas.model.PaintingCertificate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,7 @@ import java.util.List;
 public interface PaintingCertificateRepository extends JpaRepository<PaintingCertificate, Long> {
 
     List<PaintingCertificate> findByPaintingId(Long paintingId);
+
+    @Query("SELECT MAX(c.id) FROM PaintingCertificate c")
+    Long findMaxId();
 }
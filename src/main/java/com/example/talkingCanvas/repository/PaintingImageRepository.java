@@ -2,8 +2,11 @@ package com.example.talkingCanvas.repository;
 
 import com.example.talkingCanvas.model.PaintingImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -33,4 +36,10 @@ public interface PaintingImageRepository extends JpaRepository<PaintingImage, Lo
 
     // Exist methods
     boolean existsByPaintingIdAndIsPrimaryTrue(Long paintingId);
+
+    @Query("SELECT MAX(i.id) FROM PaintingImage i")
+    Long findMaxId();
+
+    @Query("SELECT i.id FROM PaintingImage i WHERE i.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
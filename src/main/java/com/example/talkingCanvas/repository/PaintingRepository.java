@@ -5,11 +5,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -93,4 +97,59 @@ default List<Painting> saveAllWithImages(List<Painting> paintings) {
     // Save all paintings with cascading to images
     return saveAll(paintings).stream().toList();
 }
+
+    @Query("SELECT MAX(p.updatedAt) FROM Painting p")
+    LocalDateTime findLatestUpdatedAt();
+
+    /**
+     * Adds pending view counts to many paintings in one statement. Bypasses the entity so
+     * {@code updated_at} is left untouched.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE paintings p SET view_count = p.view_count + v.delta " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:deltas AS bigint[])) AS v(id, delta) " +
+            "WHERE p.id = v.id", nativeQuery = true)
+    int addViewCounts(@Param("ids") Long[] ids, @Param("deltas") Long[] deltas);
+
+    /**
+     * Takes {@code quantity} units of stock if, and only if, that many are left. The check and
+     * the decrement are one statement, so concurrent checkouts cannot oversell. A painting whose
+     * last unit is taken becomes unavailable in the same statement.
+     *
+     * @return 1 if the stock was reserved, 0 if there was not enough
+     */
+    @Modifying
+    @Query("UPDATE Painting p SET p.stockQuantity = p.stockQuantity - :quantity, " +
+            "p.isAvailable = CASE WHEN p.stockQuantity > :quantity THEN p.isAvailable ELSE false END, " +
+            "p.purchaseCount = p.purchaseCount + 1, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.isAvailable = true AND p.stockQuantity >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Painting p SET p.stockQuantity = p.stockQuantity + :quantity, p.isAvailable = true, " +
+            "p.updatedAt = :now WHERE p.id = :id")
+    int restoreStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.stockQuantity FROM Painting p WHERE p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+
+    /**
+     * Rows of {id, price, stockQuantity, isAvailable} for pushing availability changes
+     */
+    @Query("SELECT p.id, p.price, p.stockQuantity, p.isAvailable FROM Painting p WHERE p.id IN :ids")
+    List<Object[]> findAvailabilityByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Rows of {id, medium, categoryName}, one per category, for the analytics dimensions
+     */
+    @Query("SELECT p.id, p.medium, c.name FROM Painting p LEFT JOIN p.categories c")
+    List<Object[]> findDimensionRows();
+
+    @Query("SELECT p.id, p.medium, c.name FROM Painting p LEFT JOIN p.categories c " +
+           "WHERE p.id IN :ids OR p.updatedAt >= :since")
+    List<Object[]> findDimensionRows(@Param("ids") Collection<Long> ids, @Param("since") LocalDateTime since);
+
+    @Query("SELECT p.id, p.medium, c.name FROM Painting p LEFT JOIN p.categories c WHERE p.updatedAt >= :since")
+    List<Object[]> findDimensionRowsUpdatedSince(@Param("since") LocalDateTime since);
 }
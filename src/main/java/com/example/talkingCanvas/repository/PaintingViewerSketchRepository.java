@@ -0,0 +1,26 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.model.PaintingViewerSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for PaintingViewerSketch entity
+ */
+@Repository
+public interface PaintingViewerSketchRepository extends JpaRepository<PaintingViewerSketch, Long> {
+
+    Optional<PaintingViewerSketch> findByPaintingIdAndPeriodTypeAndPeriodStart(Long paintingId,
+            PaintingViewerSketch.PeriodType periodType, LocalDate periodStart);
+
+    List<PaintingViewerSketch> findByPeriodTypeAndPeriodStartAndPaintingIdIn(PaintingViewerSketch.PeriodType periodType,
+            LocalDate periodStart, Collection<Long> paintingIds);
+
+    List<PaintingViewerSketch> findByPaintingIdAndPeriodTypeAndPeriodStartGreaterThanEqualOrderByPeriodStartAsc(
+            Long paintingId, PaintingViewerSketch.PeriodType periodType, LocalDate from);
+}
@@ -0,0 +1,31 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.model.StockHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for StockHold entity
+ */
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, Long> {
+
+    Optional<StockHold> findByUserIdAndPaintingId(Long userId, Long paintingId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StockHold h WHERE h.userId = :userId AND h.paintingId = :paintingId")
+    int deleteHold(@Param("userId") Long userId, @Param("paintingId") Long paintingId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StockHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,16 +3,19 @@ package com.example.talkingCanvas.repository;
 import com.example.talkingCanvas.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for User entity
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserSearchRepository {
 
     Optional<User> findByEmail(String email);
 
@@ -22,4 +25,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt >= :startDate")
     Long countUsersCreatedAfter(LocalDateTime startDate);
+
+    @Query("SELECT YEAR(u.createdAt), MONTH(u.createdAt), COUNT(u) FROM User u " +
+           "GROUP BY YEAR(u.createdAt), MONTH(u.createdAt)")
+    List<Object[]> countUsersByMonth();
+
+    /**
+     * Loads the addresses of many users in one query, initialising their {@code addresses}
+     * collections in the current persistence context
+     */
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.addresses WHERE u.id IN :ids")
+    List<User> fetchAddresses(@Param("ids") Collection<Long> ids);
 }
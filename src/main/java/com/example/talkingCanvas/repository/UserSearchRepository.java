@@ -0,0 +1,19 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.dto.admin.AdminUserSummaryDTO;
+import com.example.talkingCanvas.dto.admin.UserSearchFilter;
+import com.example.talkingCanvas.util.KeysetCursor;
+
+import java.util.List;
+
+/**
+ * Dynamic user search, mixed into {@link UserRepository}
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Users matching {@code filter}, newest first, starting after {@code after} (null for the first
+     * page). Selects the listed columns only, so no addresses or other associations are loaded.
+     */
+    List<AdminUserSummaryDTO> search(UserSearchFilter filter, KeysetCursor after, int limit);
+}
@@ -0,0 +1,93 @@
+package com.example.talkingCanvas.repository;
+
+import com.example.talkingCanvas.dto.admin.AdminUserSummaryDTO;
+import com.example.talkingCanvas.dto.admin.UserSearchFilter;
+import com.example.talkingCanvas.model.User;
+import com.example.talkingCanvas.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria implementation of {@link UserSearchRepository}.
+ * <p>
+ * Text search is {@code lower(column) LIKE '%term%'} on name, email and contact number, which
+ * the trigram indexes in {@code db/user-search-indexes.sql} serve without a full scan.
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AdminUserSummaryDTO> search(UserSearchFilter filter, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> user = query.from(User.class);
+        Path<LocalDateTime> createdAt = user.get("createdAt");
+        Path<Long> id = user.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getQuery() != null && !filter.getQuery().isBlank()) {
+            String pattern = "%" + escape(filter.getQuery().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(user.get("name")), pattern, ESCAPE),
+                    cb.like(cb.lower(user.get("email")), pattern, ESCAPE),
+                    cb.like(cb.lower(user.get("contactNumber")), pattern, ESCAPE)));
+        }
+        if (filter.getRole() != null) {
+            predicates.add(cb.equal(user.get("role"), filter.getRole()));
+        }
+        if (filter.getActive() != null) {
+            predicates.add(cb.equal(user.get("isActive"), filter.getActive()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.getCreatedTo()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.createdAt()),
+                    cb.and(cb.equal(createdAt, after.createdAt()), cb.lessThan(id, after.id()))));
+        }
+
+        query.multiselect(id, user.get("name"), user.get("email"), user.get("contactNumber"),
+                        user.get("profileEmoji"), user.get("role"), user.get("isActive"), createdAt)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(row -> AdminUserSummaryDTO.builder()
+                        .id(row.get(0, Long.class))
+                        .name(row.get(1, String.class))
+                        .email(row.get(2, String.class))
+                        .contactNumber(row.get(3, String.class))
+                        .profileEmoji(row.get(4, String.class))
+                        .role(row.get(5, User.Role.class).name())
+                        .isActive(row.get(6, Boolean.class))
+                        .createdAt(row.get(7, LocalDateTime.class))
+                        .build())
+                .toList();
+    }
+
+    private static String escape(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
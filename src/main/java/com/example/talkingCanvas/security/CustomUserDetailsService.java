@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -27,11 +28,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
-    @Transactional
+    /**
+     * Principal for an authenticated request, usually from {@link PrincipalCache}. Not
+     * transactional, so a cache hit does not take a database connection.
+     */
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
-
-        return UserPrincipal.create(user);
+        return principalCache.get(id, userId -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+            return UserPrincipal.create(user);
+        });
     }
 }
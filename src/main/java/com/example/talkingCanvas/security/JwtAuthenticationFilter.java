@@ -18,7 +18,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 /**
- * JWT authentication filter
+ * JWT authentication filter. Access tokens carrying claims are authorized from the token and the
+ * revocation denylist alone, without reading the user. Legacy tokens without claims are checked
+ * against the user's revocations and authorized from the user row, which must be active.
  */
 @Component
 @RequiredArgsConstructor
@@ -28,6 +30,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenDenylist tokenDenylist;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -35,15 +38,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+            JwtTokenProvider.AccessToken token = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt) : null;
+            if (token != null && isUsable(token)) {
+                // Tokens issued before access tokens carried claims are authorized from the user row
+                UserDetails userDetails = token.hasClaims() ? UserPrincipal.create(token)
+                        : customUserDetailsService.loadUserById(token.userId());
+                if (userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -52,6 +58,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean isUsable(JwtTokenProvider.AccessToken token) {
+        if (!token.hasClaims()) {
+            // Version 0 is below any user revocation, so any revocation of the user covers them
+            return !tokenDenylist.isRevoked(token.tokenId(), token.userId(), 0);
+        }
+        return token.active() && !tokenDenylist.isRevoked(token.tokenId(), token.userId(), token.version());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,79 +1,136 @@
 package com.example.talkingCanvas.security;
 
+import com.example.talkingCanvas.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 
 /**
- * Utility class for JWT token generation and validation
+ * Utility class for JWT token generation and validation.
+ * <p>
+ * Access tokens are short-lived and carry only what authorization needs (subject, role, active
+ * status, the user's token version, which revocation compares against, and a token id), so a
+ * request can be authenticated without reading the user. Profile data such as name and email is
+ * left out, as a JWT payload is only encoded, not encrypted. Tokens issued before these claims
+ * existed only carry the subject; they still verify until they expire.
+ * <p>
+ * The signing key and parser are built once. Tokens that verified are remembered by their
+ * SHA-256 digest until they expire, so a client sending the same token on every request pays
+ * for one signature check and claims parse per token rather than per request. Only the digest
+ * and the claims are kept, never the token itself.
  */
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration}")
-    private Long jwtExpirationMs;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_ACTIVE = "active";
+    private static final String CLAIM_VERSION = "ver";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long jwtExpirationMs;
+    private final MessageDigest digestPrototype;
+    private final Cache<ByteBuffer, AccessToken> verified;
+
+    /**
+     * Verified claims of an access token. Role, active status and version are null for tokens
+     * issued before they were embedded.
+     */
+    public record AccessToken(long userId, String role, Boolean active, Integer version, String tokenId,
+            long expiresAtMillis) {
+
+        public boolean hasClaims() {
+            return role != null && active != null && version != null;
+        }
     }
 
-    public String generateToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-
-        return Jwts.builder()
-                .subject(Long.toString(userPrincipal.getId()))
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+    /**
+     * @param verifiedCacheSize how many verified tokens to remember, or 0 to verify every time
+     */
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.expiration}") Long jwtExpirationMs,
+            @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        try {
+            this.digestPrototype = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        this.verified = verifiedCacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((ByteBuffer digest, AccessToken token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()))))
+                .build();
     }
 
-    public String generateTokenFromUserId(Long userId) {
+    public String generateAccessToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .subject(Long.toString(userId))
+                .subject(Long.toString(user.getId()))
+                .id(UUID.randomUUID().toString())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_ACTIVE, Boolean.TRUE.equals(user.getIsActive()))
+                .claim(CLAIM_VERSION, user.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the token's signature and expiry and returns its claims, or null when the token
+     * is not valid. Does not check revocation.
+     */
+    public AccessToken verify(String token) {
+        if (verified == null) {
+            return parse(token);
+        }
+        ByteBuffer digest = digest(token);
+        AccessToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached;
+        }
+        AccessToken result = parse(token);
+        if (result != null) {
+            verified.put(digest, result);
+        }
+        return result;
+    }
 
-        return Long.parseLong(claims.getSubject());
+    public Long getExpirationMs() {
+        return jwtExpirationMs;
     }
 
-    public boolean validateToken(String authToken) {
+    private AccessToken parse(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            long expiresAt = expiration != null ? expiration.getTime() : System.currentTimeMillis() + jwtExpirationMs;
+            return new AccessToken(Long.parseLong(claims.getSubject()), claims.get(CLAIM_ROLE, String.class),
+                    claims.get(CLAIM_ACTIVE, Boolean.class), claims.get(CLAIM_VERSION, Integer.class),
+                    claims.getId(), expiresAt);
         } catch (SignatureException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -83,12 +140,21 @@ public class JwtTokenProvider {
         } catch (UnsupportedJwtException ex) {
             logger.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty");
+            // Also covers a subject that is not a user id
+            logger.error("JWT claims string is empty or invalid");
+        } catch (RequiredTypeException ex) {
+            logger.error("JWT claims have unexpected types");
         }
-        return false;
+        return null;
     }
 
-    public Long getExpirationMs() {
-        return jwtExpirationMs;
+    private ByteBuffer digest(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
     }
 }
@@ -0,0 +1,57 @@
+package com.example.talkingCanvas.security;
+
+import com.example.talkingCanvas.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of the principals built for authenticated requests, so most requests do not
+ * read the {@code users} table.
+ * <p>
+ * Writes that change what a principal carries (role, status, credentials, name) evict the user
+ * once their transaction commits. Role and status changes also revoke the user's access tokens,
+ * and {@link TokenDenylist} evicts the user when it applies that revocation, including ones it
+ * polls from other instances. Other instances' name changes are not propagated; the short TTL
+ * bounds how long they can be missed.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<Long, UserPrincipal> principals;
+
+    public PrincipalCache(@Value("${principal.cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${principal.cache.max-entries:10000}") long maxEntries) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the cached principal, loading it on a miss. Concurrent misses for the same user
+     * load it once.
+     */
+    public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+        return principals.get(userId, loader);
+    }
+
+    /**
+     * Evicts the user once the current transaction commits, or now when there is none. Evicting
+     * earlier would let a concurrent request cache the state being replaced.
+     */
+    public void evict(Long userId) {
+        AfterCommit.run(() -> invalidate(userId));
+    }
+
+    /**
+     * Evicts the user now, for callers that only see committed changes
+     */
+    public void invalidate(Long userId) {
+        principals.invalidate(userId);
+    }
+}
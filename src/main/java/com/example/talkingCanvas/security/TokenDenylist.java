@@ -0,0 +1,165 @@
+package com.example.talkingCanvas.security;
+
+import com.example.talkingCanvas.model.TokenRevocation;
+import com.example.talkingCanvas.repository.TokenRevocationRepository;
+import com.example.talkingCanvas.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory list of revoked access tokens, checked on every authenticated request.
+ * <p>
+ * Revocations are kept exactly (token ids, and the minimum token version per user) and also
+ * added to a Bloom filter, so the usual case of a token that was never revoked is answered by
+ * the filter alone and the exact maps are only consulted on a filter hit. Entries are dropped
+ * once the tokens they cover have expired, which keeps the list as small as the access token
+ * lifetime allows; the filter is rebuilt from the remaining entries at the same time.
+ * <p>
+ * Revocations are stored in {@code token_revocations}. Each instance loads the unexpired ones
+ * once its beans are created, before it serves requests, and polls for new ones, with an overlap
+ * for clock skew between instances. Until the load has succeeded every token counts as revoked.
+ * Applying a user revocation also evicts the user from {@link PrincipalCache}.
+ */
+@Component
+public class TokenDenylist implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private record UserRevocation(int minVersion, long expiresAtMillis) {
+    }
+
+    private final TokenRevocationRepository revocationRepository;
+    private final PrincipalCache principalCache;
+    private final Duration overlap;
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+    private LocalDateTime watermark;
+    private volatile boolean loaded;
+
+    public TokenDenylist(TokenRevocationRepository revocationRepository, PrincipalCache principalCache,
+            @Value("${jwt.denylist.overlap-seconds:30}") long overlapSeconds) {
+        this.revocationRepository = revocationRepository;
+        this.principalCache = principalCache;
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+    }
+
+    /**
+     * Whether an access token with this id, user and version has been revoked
+     */
+    public boolean isRevoked(String tokenId, long userId, int version) {
+        if (!loaded) {
+            return true;
+        }
+        BloomFilter current = filter;
+        if (current.mightContain(userKey(userId))) {
+            UserRevocation revocation = revokedUsers.get(userId);
+            if (revocation != null && version < revocation.minVersion()) {
+                return true;
+            }
+        }
+        return tokenId != null && current.mightContain(tokenKey(tokenId)) && revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Applies a revocation on this instance; it reaches the others through the table
+     */
+    public synchronized void add(TokenRevocation revocation) {
+        long expiresAt = toMillis(revocation.getExpiresAt());
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (revocation.getKind() == TokenRevocation.Kind.TOKEN) {
+            revokedTokens.merge(revocation.getSubject(), expiresAt, Math::max);
+            filter.add(tokenKey(revocation.getSubject()));
+        } else {
+            long userId = Long.parseLong(revocation.getSubject());
+            revokedUsers.merge(userId, new UserRevocation(revocation.getMinVersion(), expiresAt),
+                    (a, b) -> new UserRevocation(Math.max(a.minVersion(), b.minVersion()),
+                            Math.max(a.expiresAtMillis(), b.expiresAtMillis())));
+            filter.add(userKey(userId));
+            // Runs after the revoking transaction committed, here or on the instance that made it
+            principalCache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            logger.error("Failed to load token revocations; access tokens are rejected until a poll loads them", ex);
+        }
+    }
+
+    public synchronized void load() {
+        LocalDateTime started = LocalDateTime.now();
+        revocationRepository.findByExpiresAtAfter(started).forEach(this::add);
+        watermark = started.minus(overlap);
+        loaded = true;
+        logger.info("Loaded {} token and {} user revocations", revokedTokens.size(), revokedUsers.size());
+    }
+
+    /**
+     * Picks up revocations made by other instances, or retries the initial load if it failed
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.poll-ms:5000}", initialDelayString = "${jwt.denylist.poll-ms:5000}")
+    public synchronized void poll() {
+        if (!loaded) {
+            load();
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        revocationRepository.findByCreatedAtAfter(watermark).forEach(this::add);
+        watermark = started.minus(overlap);
+    }
+
+    /**
+     * Drops expired revocations, rebuilding the filter without them, and deletes them from the
+     * table
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.purge-ms:60000}", initialDelayString = "${jwt.denylist.purge-ms:60000}")
+    public void purge() {
+        rebuild();
+        revocationRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAtMillis() <= now);
+
+        // Built aside and swapped in: readers keep using the old filter, which holds every live key
+        int entries = revokedTokens.size() + revokedUsers.size();
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, entries * 2), FALSE_POSITIVE_RATE);
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.add(tokenKey(tokenId)));
+        revokedUsers.keySet().forEach(userId -> rebuilt.add(userKey(userId)));
+        filter = rebuilt;
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "t:" + tokenId;
+    }
+
+    private static String userKey(long userId) {
+        return "u:" + userId;
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -22,6 +22,7 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private boolean enabled;
 
     public static UserPrincipal create(User user) {
         Collection<GrantedAuthority> authorities = Collections.singletonList(
@@ -33,13 +34,33 @@ public class UserPrincipal implements UserDetails {
                 user.getName(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                Boolean.TRUE.equals(user.getIsActive())
+        );
+    }
+
+    /**
+     * Principal built from a verified access token's claims, without reading the user. The token
+     * carries no profile data, so name and email are null.
+     */
+    public static UserPrincipal create(JwtTokenProvider.AccessToken token) {
+        Collection<GrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + token.role())
+        );
+
+        return new UserPrincipal(
+                token.userId(),
+                null,
+                null,
+                null,
+                authorities,
+                Boolean.TRUE.equals(token.active())
         );
     }
 
     @Override
     public String getUsername() {
-        return email;
+        return email != null ? email : String.valueOf(id);
     }
 
     @Override
@@ -59,6 +80,6 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 }
@@ -1,8 +1,10 @@
 package com.example.talkingCanvas.service;
 
+import com.example.talkingCanvas.dto.admin.AdminUserSummaryDTO;
 import com.example.talkingCanvas.dto.admin.DashboardStatsResponse;
-import com.example.talkingCanvas.dto.admin.MonthlyRevenueDTO;
 import com.example.talkingCanvas.dto.admin.PopularPaintingDTO;
+import com.example.talkingCanvas.dto.admin.UserSearchFilter;
+import com.example.talkingCanvas.dto.common.CursorPageResponse;
 import com.example.talkingCanvas.dto.common.PageResponse;
 import com.example.talkingCanvas.dto.order.AdminContactDTO;
 import com.example.talkingCanvas.dto.order.OrderResponse;
@@ -10,8 +12,10 @@ import com.example.talkingCanvas.dto.user.UserProfileResponse;
 import com.example.talkingCanvas.exception.ResourceNotFoundException;
 import com.example.talkingCanvas.model.Order;
 import com.example.talkingCanvas.model.Painting;
+import com.example.talkingCanvas.model.PaintingViewerSketch.PeriodType;
 import com.example.talkingCanvas.model.User;
 import com.example.talkingCanvas.repository.*;
+import com.example.talkingCanvas.util.KeysetCursor;
 import com.example.talkingCanvas.util.MapperUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -23,12 +27,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.Month;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,9 +45,17 @@ public class AdminService {
 
         private static final Logger logger = LoggerFactory.getLogger(AdminService.class);
 
+        private static final String POPULAR_PAINTINGS_KEY = "popular-paintings";
+        private static final int MAX_USER_SEARCH_PAGE_SIZE = 100;
+
         private final UserRepository userRepository;
         private final OrderRepository orderRepository;
         private final PaintingRepository paintingRepository;
+        private final UniqueViewerService uniqueViewerService;
+        private final DashboardStatsService dashboardStatsService;
+        private final RevenueRollupService revenueRollupService;
+        private final TokenService tokenService;
+        private final CacheManager cacheManager;
         private final MapperUtil mapperUtil;
 
         @Value("${admin.default.name}")
@@ -55,106 +67,86 @@ public class AdminService {
         @Value("${admin.default.uncle.name}")
         private String adminPhone;
 
-        @Cacheable(value = "dashboard-stats")
+        /**
+         * Counters come from the incrementally maintained statistics and cost no queries; only the
+         * popular painting lists are queried, and cached until paintings or orders change
+         */
         @Transactional(readOnly = true)
         public DashboardStatsResponse getDashboardStats() {
                 logger.info("Fetching dashboard statistics");
 
-                // User statistics
-                Long totalUsers = userRepository.count();
-                Long activeUsers = userRepository.countByIsActive(true);
-                LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0)
-                                .withSecond(0);
-                Long newUsersThisMonth = userRepository.countUsersCreatedAfter(startOfMonth);
-
-                // Order statistics
-                Long totalOrders = orderRepository.count();
-                Long pendingOrders = orderRepository.countByOrderStatus(Order.OrderStatus.PENDING);
-                Long confirmedOrders = orderRepository.countByOrderStatus(Order.OrderStatus.CONFIRMED);
-                Long shippedOrders = orderRepository.countByOrderStatus(Order.OrderStatus.SHIPPED);
-                Long deliveredOrders = orderRepository.countByOrderStatus(Order.OrderStatus.DELIVERED);
-                Long cancelledOrders = orderRepository.countByOrderStatus(Order.OrderStatus.CANCELLED);
-
-                // Revenue statistics
-                BigDecimal totalRevenue = orderRepository.calculateTotalRevenue();
-                if (totalRevenue == null)
-                        totalRevenue = BigDecimal.ZERO;
-
-                BigDecimal revenueThisMonth = orderRepository.calculateRevenueAfter(startOfMonth);
-                if (revenueThisMonth == null)
-                        revenueThisMonth = BigDecimal.ZERO;
-
-                LocalDateTime startOfYear = LocalDateTime.now().withDayOfYear(1).withHour(0).withMinute(0)
-                                .withSecond(0);
-                BigDecimal revenueThisYear = orderRepository.calculateRevenueAfter(startOfYear);
-                if (revenueThisYear == null)
-                        revenueThisYear = BigDecimal.ZERO;
-
-                // Painting statistics
-                Long totalPaintings = paintingRepository.count();
-                Long availablePaintings = paintingRepository.countByIsAvailable(true);
-                Long outOfStockPaintings = totalPaintings - availablePaintings;
-
-                // Popular paintings
-                Pageable top5 = PageRequest.of(0, 5);
-                List<PopularPaintingDTO> mostViewedPaintings = paintingRepository.findMostViewedPaintings(top5).stream()
-                                .map(this::toPopularPaintingDTO)
-                                .collect(Collectors.toList());
+                YearMonth thisMonth = YearMonth.now();
+                PopularPaintings popular = getPopularPaintings();
 
-                List<PopularPaintingDTO> bestSellingPaintings = paintingRepository.findBestSellingPaintings(top5)
-                                .stream()
-                                .map(this::toPopularPaintingDTO)
-                                .collect(Collectors.toList());
-
-                // Order status distribution
-                List<Object[]> statusDistributionData = orderRepository.getOrderStatusDistribution();
-                Map<String, Long> orderStatusDistribution = new HashMap<>();
-                for (Object[] data : statusDistributionData) {
-                        orderStatusDistribution.put(data[0].toString(), ((Number) data[1]).longValue());
-                }
-
-                // Monthly revenue trend
-                List<Object[]> revenueData = orderRepository.getMonthlyRevenueTrend();
-                List<MonthlyRevenueDTO> monthlyRevenueTrend = revenueData.stream()
-                                .limit(12)
-                                .map(data -> MonthlyRevenueDTO.builder()
-                                                .year(((Number) data[0]).intValue())
-                                                .month(((Number) data[1]).intValue())
-                                                .monthName(Month.of(((Number) data[1]).intValue()).name())
-                                                .revenue((BigDecimal) data[2])
-                                                .orderCount(((Number) data[3]).longValue())
-                                                .build())
-                                .collect(Collectors.toList());
+                long totalPaintings = dashboardStatsService.getTotalPaintings();
+                long availablePaintings = dashboardStatsService.getAvailablePaintings();
 
                 return DashboardStatsResponse.builder()
-                                .totalUsers(totalUsers)
-                                .activeUsers(activeUsers)
-                                .newUsersThisMonth(newUsersThisMonth)
-                                .totalOrders(totalOrders)
-                                .pendingOrders(pendingOrders)
-                                .confirmedOrders(confirmedOrders)
-                                .shippedOrders(shippedOrders)
-                                .deliveredOrders(deliveredOrders)
-                                .cancelledOrders(cancelledOrders)
-                                .totalRevenue(totalRevenue)
-                                .revenueThisMonth(revenueThisMonth)
-                                .revenueThisYear(revenueThisYear)
+                                .totalUsers(dashboardStatsService.getTotalUsers())
+                                .activeUsers(dashboardStatsService.getActiveUsers())
+                                .newUsersThisMonth(dashboardStatsService.getNewUsers(thisMonth))
+                                .totalOrders(dashboardStatsService.getTotalOrders())
+                                .pendingOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.PENDING))
+                                .confirmedOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.CONFIRMED))
+                                .shippedOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.SHIPPED))
+                                .deliveredOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.DELIVERED))
+                                .cancelledOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.CANCELLED))
+                                .totalRevenue(dashboardStatsService.getTotalRevenue())
+                                .revenueThisMonth(dashboardStatsService.getRevenue(thisMonth))
+                                .revenueThisYear(dashboardStatsService.getRevenueForYear(thisMonth.getYear()))
                                 .currency("INR")
                                 .totalPaintings(totalPaintings)
                                 .availablePaintings(availablePaintings)
-                                .outOfStockPaintings(outOfStockPaintings)
-                                .mostViewedPaintings(mostViewedPaintings)
-                                .bestSellingPaintings(bestSellingPaintings)
-                                .orderStatusDistribution(orderStatusDistribution)
-                                .monthlyRevenueTrend(monthlyRevenueTrend)
+                                .outOfStockPaintings(totalPaintings - availablePaintings)
+                                .mostViewedPaintings(popular.mostViewed())
+                                .bestSellingPaintings(popular.bestSelling())
+                                .orderStatusDistribution(dashboardStatsService.getOrderStatusDistribution())
+                                .monthlyRevenueTrend(dashboardStatsService.getMonthlyRevenueTrend(12))
                                 .build();
         }
 
+        private PopularPaintings getPopularPaintings() {
+                Cache cache = cacheManager.getCache("dashboard-stats");
+                if (cache == null) {
+                        return loadPopularPaintings();
+                }
+                return cache.get(POPULAR_PAINTINGS_KEY, this::loadPopularPaintings);
+        }
+
+        private PopularPaintings loadPopularPaintings() {
+                Pageable top5 = PageRequest.of(0, 5);
+                List<Painting> mostViewed = paintingRepository.findMostViewedPaintings(top5);
+                List<Painting> bestSelling = paintingRepository.findBestSellingPaintings(top5);
+
+                // Viewer sketches of all listed paintings in one query per period
+                Set<Long> ids = new HashSet<>();
+                mostViewed.forEach(painting -> ids.add(painting.getId()));
+                bestSelling.forEach(painting -> ids.add(painting.getId()));
+                LocalDate today = LocalDate.now();
+                Map<Long, Long> viewersToday = uniqueViewerService.getUniqueViewers(ids, PeriodType.DAY, today);
+                Map<Long, Long> viewersThisMonth = uniqueViewerService.getUniqueViewers(ids, PeriodType.MONTH,
+                                today.withDayOfMonth(1));
+
+                List<PopularPaintingDTO> mostViewedPaintings = mostViewed.stream()
+                                .map(painting -> toPopularPaintingDTO(painting, viewersToday, viewersThisMonth))
+                                .collect(Collectors.toList());
+
+                List<PopularPaintingDTO> bestSellingPaintings = bestSelling.stream()
+                                .map(painting -> toPopularPaintingDTO(painting, viewersToday, viewersThisMonth))
+                                .collect(Collectors.toList());
+
+                return new PopularPaintings(mostViewedPaintings, bestSellingPaintings);
+        }
+
         @Transactional(readOnly = true)
         public PageResponse<UserProfileResponse> getAllUsers(int page, int size) {
                 logger.info("Fetching all users - page: {}, size: {}", page, size);
                 Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
                 Page<User> userPage = userRepository.findAll(pageable);
+                // One query for the page's addresses instead of one per user
+                if (userPage.hasContent()) {
+                        userRepository.fetchAddresses(userPage.getContent().stream().map(User::getId).toList());
+                }
 
                 List<UserProfileResponse> content = userPage.getContent().stream()
                                 .map(mapperUtil::toUserProfileResponse)
@@ -171,6 +163,31 @@ public class AdminService {
                                 .build();
         }
 
+        /**
+         * Keyset-paginated user search, newest first. Reads only the listed columns, so a page costs
+         * one query however many users match or however far back it is.
+         */
+        @Transactional(readOnly = true)
+        public CursorPageResponse<AdminUserSummaryDTO> searchUsers(UserSearchFilter filter, String cursor, int size) {
+                // The text query may be a name, email or phone number, so only whether it is set is logged
+                logger.debug("Searching users - text query: {}, role: {}, active: {}, size: {}",
+                                filter.getQuery() != null, filter.getRole(), filter.getActive(), size);
+                int pageSize = Math.max(1, Math.min(size, MAX_USER_SEARCH_PAGE_SIZE));
+                KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+
+                // One extra row tells whether another page follows
+                List<AdminUserSummaryDTO> users = userRepository.search(filter, after, pageSize + 1);
+                boolean hasMore = users.size() > pageSize;
+                List<AdminUserSummaryDTO> page = hasMore ? users.subList(0, pageSize) : users;
+                AdminUserSummaryDTO last = page.isEmpty() ? null : page.get(page.size() - 1);
+                return CursorPageResponse.<AdminUserSummaryDTO>builder()
+                                .content(page)
+                                .pageSize(pageSize)
+                                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                                .hasMore(hasMore)
+                                .build();
+        }
+
         @Transactional(readOnly = true)
         public UserProfileResponse getUserById(Long userId) {
                 logger.info("Fetching user: {}", userId);
@@ -186,6 +203,8 @@ public class AdminService {
                                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
                 user.setIsActive(!user.getIsActive());
                 userRepository.save(user);
+                dashboardStatsService.userActiveChanged(user.getIsActive());
+                tokenService.revokeAccessTokens(user, false);
                 logger.info("User status toggled: {}", userId);
         }
 
@@ -194,8 +213,13 @@ public class AdminService {
                 logger.info("Deleting user: {}", userId);
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+                boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
                 user.setIsActive(false);
                 userRepository.save(user);
+                if (wasActive) {
+                        dashboardStatsService.userActiveChanged(false);
+                }
+                tokenService.revokeAccessTokens(user, true);
                 logger.info("User soft deleted: {}", userId);
         }
 
@@ -239,12 +263,15 @@ public class AdminService {
                 Order order = orderRepository.findById(orderId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
+                Order.OrderStatus previousStatus = order.getOrderStatus();
                 order.setOrderStatus(Order.OrderStatus.valueOf(status.toUpperCase()));
                 if (trackingInfo != null) {
                         order.setTrackingInfo(trackingInfo);
                 }
 
                 Order updatedOrder = orderRepository.save(order);
+                dashboardStatsService.orderStatusChanged(updatedOrder, previousStatus);
+                revenueRollupService.orderStatusChanged(updatedOrder, previousStatus);
                 logger.info("Order status updated: {}", orderId);
 
                 AdminContactDTO adminContact = AdminContactDTO.builder()
@@ -256,7 +283,8 @@ public class AdminService {
                 return mapperUtil.toOrderResponse(updatedOrder, adminContact);
         }
 
-        private PopularPaintingDTO toPopularPaintingDTO(Painting painting) {
+        private PopularPaintingDTO toPopularPaintingDTO(Painting painting, Map<Long, Long> viewersToday,
+                        Map<Long, Long> viewersThisMonth) {
                 String primaryImage = painting.getImages().stream()
                                 .filter(img -> img.getIsPrimary())
                                 .findFirst()
@@ -279,6 +307,8 @@ public class AdminService {
                                 .primaryImage(primaryImage)
                                 .viewCount(painting.getViewCount())
                                 .purchaseCount(painting.getPurchaseCount())
+                                .uniqueViewersToday(viewersToday.get(painting.getId()))
+                                .uniqueViewersThisMonth(viewersThisMonth.get(painting.getId()))
                                 .build();
         }
 
@@ -289,6 +319,10 @@ public class AdminService {
                                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
                 user.setRole(User.Role.ADMIN);
                 userRepository.save(user);
+                tokenService.revokeAccessTokens(user, false);
                 logger.info("User promoted to admin: {}", userId);
         }
+
+        private record PopularPaintings(List<PopularPaintingDTO> mostViewed, List<PopularPaintingDTO> bestSelling) {
+        }
 }
@@ -0,0 +1,325 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.analytics.OrderFactStore;
+import com.example.talkingCanvas.dto.admin.AnalyticsGroupDTO;
+import com.example.talkingCanvas.dto.admin.AnalyticsResponse;
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.model.Order;
+import com.example.talkingCanvas.repository.OrderItemRepository;
+import com.example.talkingCanvas.repository.PaintingRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service answering ad-hoc sales analytics (revenue by category, medium, weekday or price band)
+ * from an in-memory {@link OrderFactStore} instead of aggregate queries over orders.
+ * <p>
+ * The store is built from order history on startup and rebuilt nightly, on a thread of its own
+ * so neither startup nor the shared scheduler waits for the load. In between it is fed
+ * incrementally by polling for orders placed or changed since the last poll, which also picks
+ * up orders written by other instances; polls overlap by {@code analytics.overlap-seconds} and
+ * the store ignores orders it already has.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final List<BigDecimal> DEFAULT_PRICE_BANDS = List.of(BigDecimal.valueOf(5000),
+            BigDecimal.valueOf(10000), BigDecimal.valueOf(25000), BigDecimal.valueOf(50000), BigDecimal.valueOf(100000));
+
+    private final OrderItemRepository orderItemRepository;
+    private final PaintingRepository paintingRepository;
+    private final Duration overlap;
+
+    private volatile OrderFactStore store = new OrderFactStore();
+    private LocalDateTime watermark;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analytics-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    public AnalyticsService(OrderItemRepository orderItemRepository, PaintingRepository paintingRepository,
+            @Value("${analytics.overlap-seconds:120}") long overlapSeconds) {
+        this.orderItemRepository = orderItemRepository;
+        this.paintingRepository = paintingRepository;
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+    }
+
+    /**
+     * @param from first day included, or null for all history
+     * @param to last day included, or null for up to now
+     * @param category only paintings in this category, or null
+     * @param medium only paintings of this medium, or null
+     * @param priceBands ascending unit-price boundaries in rupees for {@code PRICE_BAND}, or null for defaults
+     */
+    public AnalyticsResponse query(String groupBy, LocalDate from, LocalDate to, String category, String medium,
+            boolean includeCancelled, List<BigDecimal> priceBands) {
+        OrderFactStore.Dimension dimension = parseDimension(groupBy);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must be on or before 'to'");
+        }
+        OrderFactStore current = store;
+        int categoryCode = category == null || category.isBlank() ? OrderFactStore.NONE : current.categoryCode(category);
+        int mediumCode = medium == null || medium.isBlank() ? OrderFactStore.NONE : current.mediumCode(medium);
+
+        List<OrderFactStore.Group> groups;
+        if ((category != null && !category.isBlank() && categoryCode == OrderFactStore.NONE)
+                || (medium != null && !medium.isBlank() && mediumCode == OrderFactStore.NONE)) {
+            // Filtering on a value no painting sold has
+            groups = List.of();
+        } else {
+            groups = current.query(new OrderFactStore.Query(dimension,
+                    from == null ? Long.MIN_VALUE : toMillis(from.atStartOfDay()),
+                    to == null ? Long.MAX_VALUE : toMillis(to.plusDays(1).atStartOfDay()),
+                    categoryCode, mediumCode, includeCancelled,
+                    dimension == OrderFactStore.Dimension.PRICE_BAND ? toBoundsPaise(priceBands) : null));
+        }
+        if (dimension == OrderFactStore.Dimension.CATEGORY || dimension == OrderFactStore.Dimension.MEDIUM) {
+            groups = groups.stream()
+                    .sorted(Comparator.comparingLong(OrderFactStore.Group::revenuePaise).reversed())
+                    .toList();
+        }
+
+        long totalRevenue = 0;
+        long totalUnits = 0;
+        long totalLines = 0;
+        for (OrderFactStore.Group group : groups) {
+            totalRevenue += group.revenuePaise();
+            totalUnits += group.units();
+            totalLines += group.lineItems();
+        }
+        List<AnalyticsGroupDTO> content = new ArrayList<>();
+        for (OrderFactStore.Group group : groups) {
+            content.add(AnalyticsGroupDTO.builder()
+                    .key(group.key())
+                    .revenue(toRupees(group.revenuePaise()))
+                    .units(group.units())
+                    .lineItems(group.lineItems())
+                    .revenueShare(totalRevenue == 0 ? BigDecimal.ZERO
+                            : BigDecimal.valueOf(group.revenuePaise() * 100.0 / totalRevenue).setScale(2, RoundingMode.HALF_UP))
+                    .build());
+        }
+        // With categories a sale can count in several groups, so totals are only meaningful otherwise
+        boolean additive = dimension != OrderFactStore.Dimension.CATEGORY;
+        return AnalyticsResponse.builder()
+                .groupBy(dimension.name())
+                .from(from)
+                .to(to)
+                .currency("INR")
+                .totalRevenue(additive ? toRupees(totalRevenue) : null)
+                .totalUnits(additive ? totalUnits : null)
+                .totalLineItems(additive ? totalLines : null)
+                .groups(content)
+                .factsScanned(current.size())
+                .build();
+    }
+
+    /**
+     * Queues a rebuild on the rebuild thread unless one is already waiting to run
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${analytics.rebuild-cron:0 0 4 * * *}")
+    public void scheduleRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    logger.error("Failed to build analytics store: {}", ex.getMessage(), ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rebuildQueued.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Builds a new store from all order history and swaps it in. Only the swap holds the lock
+     * {@link #catchUp} takes, so polls keep running during the load; the watermark goes back to
+     * the start of the load, and the next poll adds to the new store what the load missed.
+     */
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime started = LocalDateTime.now();
+        OrderFactStore fresh = new OrderFactStore();
+        applyDimensions(fresh, paintingRepository.findDimensionRows());
+
+        long orderId = 0;
+        long itemId = 0;
+        List<Object[]> pending = new ArrayList<>();
+        while (true) {
+            List<Object[]> rows = orderItemRepository.findFactRowsAfter(orderId, itemId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                // An order's items can span batches, so it is appended once its last item is seen
+                if (!pending.isEmpty() && !pending.get(0)[0].equals(row[0])) {
+                    append(fresh, pending);
+                    pending.clear();
+                }
+                pending.add(row);
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            orderId = (Long) last[0];
+            itemId = (Long) last[1];
+        }
+        if (!pending.isEmpty()) {
+            append(fresh, pending);
+        }
+
+        synchronized (this) {
+            store = fresh;
+            watermark = started.minus(overlap);
+        }
+        logger.info("Built analytics store: {} order item facts in {} ms", fresh.size(),
+                System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Adds orders placed since the last poll and applies cancellations of known ones
+     */
+    @Scheduled(fixedDelayString = "${analytics.poll-ms:30000}", initialDelayString = "${analytics.poll-ms:30000}")
+    public synchronized void catchUp() {
+        if (watermark == null) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        OrderFactStore current = store;
+        List<Object[]> rows = orderItemRepository.findFactRowsUpdatedSince(watermark);
+
+        Set<Long> unknownPaintings = new HashSet<>();
+        for (Object[] row : rows) {
+            if (!current.containsPainting((Long) row[4])) {
+                unknownPaintings.add((Long) row[4]);
+            }
+        }
+        // Paintings edited since the last poll may have a new medium or categories
+        boolean newPaintings = !unknownPaintings.isEmpty();
+        applyDimensions(current, newPaintings
+                ? paintingRepository.findDimensionRows(unknownPaintings, watermark)
+                : paintingRepository.findDimensionRowsUpdatedSince(watermark));
+
+        Map<Long, List<Object[]>> byOrder = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            byOrder.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+        }
+        int added = 0;
+        for (List<Object[]> orderRows : byOrder.values()) {
+            Long id = (Long) orderRows.get(0)[0];
+            if (current.containsOrder(id)) {
+                current.setCancelled(id, orderRows.get(0)[3] == Order.OrderStatus.CANCELLED);
+            } else if (append(current, orderRows)) {
+                added++;
+            }
+        }
+        watermark = started.minus(overlap);
+        if (added > 0) {
+            logger.debug("Added {} orders to the analytics store", added);
+        }
+    }
+
+    private static boolean append(OrderFactStore target, List<Object[]> orderRows) {
+        Object[] first = orderRows.get(0);
+        LocalDateTime createdAt = (LocalDateTime) first[2];
+        int count = orderRows.size();
+        long[] paintingIds = new long[count];
+        int[] quantities = new int[count];
+        long[] unitPrices = new long[count];
+        for (int i = 0; i < count; i++) {
+            Object[] row = orderRows.get(i);
+            paintingIds[i] = (Long) row[4];
+            quantities[i] = (Integer) row[5];
+            unitPrices[i] = toPaise((BigDecimal) row[6]);
+        }
+        return target.appendOrder((Long) first[0], toMillis(createdAt), createdAt.getDayOfWeek(),
+                first[3] == Order.OrderStatus.CANCELLED, paintingIds, quantities, unitPrices);
+    }
+
+    private static void applyDimensions(OrderFactStore target, List<Object[]> rows) {
+        Map<Long, String> mediums = new LinkedHashMap<>();
+        Map<Long, List<String>> categories = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Long paintingId = (Long) row[0];
+            mediums.put(paintingId, (String) row[1]);
+            List<String> names = categories.computeIfAbsent(paintingId, id -> new ArrayList<>());
+            if (row[2] != null) {
+                names.add((String) row[2]);
+            }
+        }
+        mediums.forEach((paintingId, medium) ->
+                target.setPaintingDimensions(paintingId, medium, categories.get(paintingId)));
+    }
+
+    private static OrderFactStore.Dimension parseDimension(String groupBy) {
+        try {
+            return OrderFactStore.Dimension.valueOf(groupBy.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("groupBy must be one of CATEGORY, MEDIUM, WEEKDAY or PRICE_BAND");
+        }
+    }
+
+    private static long[] toBoundsPaise(List<BigDecimal> priceBands) {
+        List<BigDecimal> bands = priceBands == null || priceBands.isEmpty() ? DEFAULT_PRICE_BANDS : priceBands;
+        long[] bounds = new long[bands.size()];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = toPaise(bands.get(i));
+            if (bounds[i] <= 0 || (i > 0 && bounds[i] <= bounds[i - 1])) {
+                throw new BadRequestException("Price bands must be positive and ascending");
+            }
+        }
+        return bounds;
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long toPaise(BigDecimal rupees) {
+        return rupees.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal toRupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -11,13 +11,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.example.talkingCanvas.dto.auth.AuthResponse;
 import com.example.talkingCanvas.dto.auth.LoginRequest;
+import com.example.talkingCanvas.dto.auth.RefreshTokenRequest;
 import com.example.talkingCanvas.dto.auth.RegisterRequest;
 import com.example.talkingCanvas.exception.BadRequestException;
 import com.example.talkingCanvas.model.Address;
 import com.example.talkingCanvas.model.Cart;
 import com.example.talkingCanvas.model.User;
 import com.example.talkingCanvas.repository.UserRepository;
-import com.example.talkingCanvas.security.JwtTokenProvider;
+import com.example.talkingCanvas.security.UserPrincipal;
 import com.example.talkingCanvas.util.EmailService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,7 +35,8 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final JwtTokenProvider tokenProvider;
+    private final TokenService tokenService;
+    private final DashboardStatsService dashboardStatsService;
 //     private final EmailService emailService;
 
     @Transactional
@@ -77,24 +79,17 @@ public class AuthService {
 
         // Save user
         User savedUser = userRepository.save(user);
+        dashboardStatsService.userRegistered(savedUser);
 
         // Send welcome email
         // emailService.sendWelcomeEmail(savedUser.getEmail(), savedUser.getName());
 
         // Generate JWT token
-        String token = tokenProvider.generateTokenFromUserId(savedUser.getId());
+        TokenService.IssuedTokens tokens = tokenService.issue(savedUser);
 
         logger.info("User registered successfully: {}", savedUser.getEmail());
 
-        return AuthResponse.builder()
-                .token(token)
-                .type("Bearer")
-                .userId(savedUser.getId())
-                .name(savedUser.getName())
-                .email(savedUser.getEmail())
-                .role(savedUser.getRole().name())
-                .expiresIn(tokenProvider.getExpirationMs())
-                .build();
+        return toAuthResponse(savedUser, tokens);
     }
 
     public AuthResponse login(LoginRequest request) {
@@ -107,21 +102,39 @@ public class AuthService {
                 )
         );
 
-        String token = tokenProvider.generateToken(authentication);
-
-        User user = userRepository.findByEmail(request.getEmail())
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        User user = userRepository.findById(principal.getId())
                 .orElseThrow(() -> new BadRequestException("User not found"));
+        TokenService.IssuedTokens tokens = tokenService.issue(user);
 
         logger.info("User logged in successfully: {}", user.getEmail());
 
+        return toAuthResponse(user, tokens);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        TokenService.IssuedTokens tokens = tokenService.refresh(request.getRefreshToken());
+        return toAuthResponse(tokens.user(), tokens);
+    }
+
+    public void logout(RefreshTokenRequest request, String accessToken) {
+        tokenService.logout(request.getRefreshToken(), accessToken);
+    }
+
+    private AuthResponse toAuthResponse(User user, TokenService.IssuedTokens tokens) {
         return AuthResponse.builder()
-                .token(token)
+                .token(tokens.accessToken())
                 .type("Bearer")
                 .userId(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
                 .role(user.getRole().name())
-                .expiresIn(tokenProvider.getExpirationMs())
+                .expiresIn(tokens.accessExpiresInMs())
+                .refreshToken(tokens.refreshToken())
+                .refreshExpiresIn(tokens.refreshExpiresInMs())
                 .build();
     }
 }
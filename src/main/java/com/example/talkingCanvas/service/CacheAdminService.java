@@ -0,0 +1,287 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.cache.TieredCache;
+import com.example.talkingCanvas.config.CacheConfig;
+import com.example.talkingCanvas.dto.admin.CacheMemoryResponse;
+import com.example.talkingCanvas.dto.admin.CachePolicyAuditDTO;
+import com.example.talkingCanvas.dto.admin.CachePolicyDTO;
+import com.example.talkingCanvas.dto.admin.CachePolicyRequest;
+import com.example.talkingCanvas.dto.admin.CacheStatsDTO;
+import com.example.talkingCanvas.dto.common.PageResponse;
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.exception.ResourceNotFoundException;
+import com.example.talkingCanvas.model.CachePolicyAudit;
+import com.example.talkingCanvas.model.SiteConfig;
+import com.example.talkingCanvas.model.User;
+import com.example.talkingCanvas.repository.CachePolicyAuditRepository;
+import com.example.talkingCanvas.repository.SiteConfigRepository;
+import com.example.talkingCanvas.repository.UserRepository;
+import com.example.talkingCanvas.util.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service for inspecting the application caches and tuning their policies at runtime.
+ * Policy overrides are stored in {@code site_config} under {@code cache.policy.<name>}
+ * and re-applied on startup.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheAdminService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheAdminService.class);
+
+    private static final String POLICY_KEY_PREFIX = "cache.policy.";
+
+    private final CacheManager cacheManager;
+    private final CacheConfig cacheConfig;
+    private final SiteConfigRepository siteConfigRepository;
+    private final CachePolicyAuditRepository cachePolicyAuditRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public CacheMemoryResponse getCacheMemory() {
+        logger.info("Fetching cache memory statistics");
+        List<CacheStatsDTO> caches = new ArrayList<>();
+        long usedBytes = 0;
+
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            CacheStatsDTO stats = toCacheStatsDTO(name, caffeineCache.getNativeCache());
+            usedBytes += stats.getWeightedBytes();
+            if (caffeineCache instanceof TieredCache tiered) {
+                addCompressedTierStats(stats, tiered);
+                usedBytes += stats.getCompressedBytes();
+            }
+            caches.add(stats);
+        }
+
+        return CacheMemoryResponse.builder()
+                .budgetBytes(cacheConfig.getMemoryBudgetBytes())
+                .usedBytes(usedBytes)
+                .caches(caches)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CachePolicyDTO> getCachePolicies() {
+        logger.info("Fetching cache policies");
+        List<CachePolicyDTO> policies = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                boolean overridden = siteConfigRepository.findByConfigKey(POLICY_KEY_PREFIX + name).isPresent();
+                policies.add(toCachePolicyDTO(name, caffeineCache.getNativeCache(), overridden));
+            }
+        }
+        return policies;
+    }
+
+    @Transactional
+    public CachePolicyDTO updateCachePolicy(String name, CachePolicyRequest request, Long changedById) {
+        // Access tokens carry no email, so the audit's admin is looked up
+        String changedBy = userRepository.findById(changedById).map(User::getEmail).orElse("user " + changedById);
+        logger.info("Updating policy of cache {} by {}: {}", name, changedBy, request);
+        if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+            throw new ResourceNotFoundException("Cache", "name", name);
+        }
+        if (request.getMaximumBytes() == null && request.getTtlSeconds() == null) {
+            throw new BadRequestException("At least one of maximumBytes or ttlSeconds is required");
+        }
+        validatePolicy(name, caffeineCache.getNativeCache(), request);
+
+        CachePolicyDTO previous = toCachePolicyDTO(name, caffeineCache.getNativeCache(), false);
+
+        // Overrides accumulate, so a TTL change does not drop an earlier size change
+        Optional<SiteConfig> existing = siteConfigRepository.findByConfigKey(POLICY_KEY_PREFIX + name);
+        CachePolicyRequest merged = existing.map(config -> readPolicy(config.getConfigValue()))
+                .orElseGet(CachePolicyRequest::new);
+        if (request.getMaximumBytes() != null) {
+            merged.setMaximumBytes(request.getMaximumBytes());
+        }
+        if (request.getTtlSeconds() != null) {
+            merged.setTtlSeconds(request.getTtlSeconds());
+        }
+        SiteConfig config = existing.orElseGet(() -> SiteConfig.builder()
+                .configKey(POLICY_KEY_PREFIX + name)
+                .description("Runtime policy override for cache " + name)
+                .build());
+        config.setConfigValue(writePolicy(merged));
+        siteConfigRepository.save(config);
+
+        CachePolicyDTO updated = CachePolicyDTO.builder()
+                .name(name)
+                .maximumBytes(request.getMaximumBytes() != null ? request.getMaximumBytes() : previous.getMaximumBytes())
+                .ttlSeconds(request.getTtlSeconds() != null ? request.getTtlSeconds() : previous.getTtlSeconds())
+                .overridden(true)
+                .build();
+
+        cachePolicyAuditRepository.save(CachePolicyAudit.builder()
+                .cacheName(name)
+                .changedBy(changedBy)
+                .previousPolicy(describe(previous))
+                .newPolicy(describe(updated))
+                .build());
+
+        // The live cache only changes once the override and its audit row are stored
+        applyPolicyAfterCommit(caffeineCache, request);
+        logger.info("Cache {} policy updated: {}", name, describe(updated));
+        return updated;
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<CachePolicyAuditDTO> getCachePolicyAudit(int page, int size) {
+        logger.info("Fetching cache policy audit - page: {}, size: {}", page, size);
+        Page<CachePolicyAudit> auditPage = cachePolicyAuditRepository
+                .findAllByOrderByChangedAtDesc(PageRequest.of(page, size));
+
+        List<CachePolicyAuditDTO> content = auditPage.getContent().stream()
+                .map(audit -> CachePolicyAuditDTO.builder()
+                        .id(audit.getId())
+                        .cacheName(audit.getCacheName())
+                        .changedBy(audit.getChangedBy())
+                        .previousPolicy(audit.getPreviousPolicy())
+                        .newPolicy(audit.getNewPolicy())
+                        .changedAt(audit.getChangedAt())
+                        .build())
+                .collect(Collectors.toList());
+
+        return PageResponse.<CachePolicyAuditDTO>builder()
+                .content(content)
+                .pageNumber(auditPage.getNumber())
+                .pageSize(auditPage.getSize())
+                .totalElements(auditPage.getTotalElements())
+                .totalPages(auditPage.getTotalPages())
+                .last(auditPage.isLast())
+                .first(auditPage.isFirst())
+                .build();
+    }
+
+    /**
+     * Re-applies persisted policy overrides over the defaults from {@link CacheConfig}
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void applyPersistedPolicies() {
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            siteConfigRepository.findByConfigKey(POLICY_KEY_PREFIX + name).ifPresent(config -> {
+                try {
+                    CachePolicyRequest policy = readPolicy(config.getConfigValue());
+                    validatePolicy(name, caffeineCache.getNativeCache(), policy);
+                    applyPolicy(caffeineCache, policy);
+                    logger.info("Applied persisted policy to cache {}: {}", name, config.getConfigValue());
+                } catch (RuntimeException ex) {
+                    logger.warn("Ignoring persisted policy of cache {}: {}", name, ex.getMessage());
+                }
+            });
+        }
+    }
+
+    private void validatePolicy(String name, Cache<Object, Object> cache, CachePolicyRequest request) {
+        Policy<Object, Object> policy = cache.policy();
+        if (request.getMaximumBytes() != null && policy.eviction().isEmpty()) {
+            throw new BadRequestException("Cache " + name + " is not size bounded");
+        }
+        if (request.getTtlSeconds() != null && policy.expireAfterWrite().isEmpty()) {
+            throw new BadRequestException("Cache " + name + " has no expire-after-write policy");
+        }
+    }
+
+    private void applyPolicy(CaffeineCache caffeineCache, CachePolicyRequest request) {
+        Policy<Object, Object> policy = caffeineCache.getNativeCache().policy();
+        if (request.getMaximumBytes() != null) {
+            policy.eviction().ifPresent(eviction -> eviction.setMaximum(request.getMaximumBytes()));
+        }
+        if (request.getTtlSeconds() != null) {
+            Duration ttl = Duration.ofSeconds(request.getTtlSeconds());
+            policy.expireAfterWrite().ifPresent(expiration -> expiration.setExpiresAfter(ttl));
+            if (caffeineCache instanceof TieredCache tiered) {
+                tiered.getCompressedTier().policy().expireAfterWrite()
+                        .ifPresent(expiration -> expiration.setExpiresAfter(ttl));
+            }
+        }
+    }
+
+    private void applyPolicyAfterCommit(CaffeineCache caffeineCache, CachePolicyRequest request) {
+        AfterCommit.run(() -> applyPolicy(caffeineCache, request));
+    }
+
+    private CachePolicyDTO toCachePolicyDTO(String name, Cache<Object, Object> cache, boolean overridden) {
+        Policy<Object, Object> policy = cache.policy();
+        return CachePolicyDTO.builder()
+                .name(name)
+                .maximumBytes(policy.eviction().map(Policy.Eviction::getMaximum).orElse(null))
+                .ttlSeconds(policy.expireAfterWrite().map(e -> e.getExpiresAfter().toSeconds()).orElse(null))
+                .overridden(overridden)
+                .build();
+    }
+
+    private static String describe(CachePolicyDTO policy) {
+        return "maximumBytes=" + policy.getMaximumBytes()
+                + ", ttlSeconds=" + policy.getTtlSeconds();
+    }
+
+    private CachePolicyRequest readPolicy(String json) {
+        try {
+            return objectMapper.readValue(json, CachePolicyRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Invalid cache policy: " + json, ex);
+        }
+    }
+
+    private String writePolicy(CachePolicyRequest policy) {
+        try {
+            return objectMapper.writeValueAsString(policy);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize cache policy", ex);
+        }
+    }
+
+    private CacheStatsDTO toCacheStatsDTO(String name, Cache<Object, Object> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .entries(cache.estimatedSize())
+                .weightedBytes(cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .maximumBytes(cache.policy().eviction().map(e -> e.getMaximum()).orElse(0L))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private void addCompressedTierStats(CacheStatsDTO stats, TieredCache tiered) {
+        long decompressCount = tiered.getDecompressCount();
+        stats.setCompressedEntries(tiered.getCompressedTier().estimatedSize());
+        stats.setCompressedBytes(tiered.getCompressedWeightedSize());
+        stats.setCompressionRatio(tiered.getCompressionRatio());
+        stats.setDecompressCount(decompressCount);
+        stats.setAvgDecompressMicros(decompressCount == 0 ? 0.0
+                : tiered.getDecompressNanos() / 1000.0 / decompressCount);
+    }
+}
@@ -36,6 +36,8 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final PaintingRepository paintingRepository;
     private final UserRepository userRepository;
+    private final TrendingService trendingService;
+    private final StockHoldService stockHoldService;
     private final MapperUtil mapperUtil;
 
     @Transactional(readOnly = true)
@@ -76,10 +78,12 @@ public class CartService {
                 throw new BadRequestException("Insufficient stock. Available: " + painting.getStockQuantity());
             }
 
+            stockHoldService.hold(userId, painting.getId(), newQuantity, painting.getStockQuantity());
             item.setQuantity(newQuantity);
             cartItemRepository.save(item);
         } else {
             // Add new item
+            stockHoldService.hold(userId, painting.getId(), request.getQuantity(), painting.getStockQuantity());
             CartItem newItem = CartItem.builder()
                     .cart(cart)
                     .painting(painting)
@@ -89,6 +93,7 @@ public class CartService {
         }
 
         Cart updatedCart = cartRepository.save(cart);
+        trendingService.record(painting.getId(), TrendingService.Signal.CART_ADD);
         logger.info("Item added to cart for user: {}", userId);
         return mapperUtil.toCartResponse(updatedCart);
     }
@@ -114,6 +119,7 @@ public class CartService {
             throw new BadRequestException("Insufficient stock. Available: " + item.getPainting().getStockQuantity());
         }
 
+        stockHoldService.hold(userId, item.getPainting().getId(), quantity, item.getPainting().getStockQuantity());
         item.setQuantity(quantity);
         cartItemRepository.save(item);
 
@@ -137,6 +143,7 @@ public class CartService {
 
         cart.removeItem(item);
         cartItemRepository.delete(item);
+        stockHoldService.release(userId, item.getPainting().getId());
 
         Cart updatedCart = cartRepository.findById(cart.getId()).get();
         logger.info("Cart item removed for user: {}", userId);
@@ -150,6 +157,7 @@ public class CartService {
         Cart cart = getOrCreateCart(userId);
         cart.clear();
         cartRepository.save(cart);
+        stockHoldService.releaseAll(userId);
         logger.info("Cart cleared for user: {}", userId);
     }
 
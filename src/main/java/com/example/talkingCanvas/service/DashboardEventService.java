@@ -0,0 +1,161 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.admin.DashboardStatsEventDTO;
+import com.example.talkingCanvas.model.Order;
+import com.example.talkingCanvas.util.SseBroadcaster;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Service pushing the admin dashboard figures to SSE subscribers as they change.
+ * <p>
+ * A new subscriber first gets every figure. After that, changes are coalesced: once per frame
+ * interval the figures are read from {@link DashboardStatsService}'s in-memory mirror, and only
+ * the ones that differ from the last frame are sent, so a burst of orders becomes one event.
+ * Frames are skipped without reading anything while the mirror and the current month have not
+ * changed; the month matters as the "this month" figures roll over without any write. The popular
+ * painting lists are not pushed; they come from the regular dashboard endpoint.
+ */
+@Service
+public class DashboardEventService {
+
+    public static final String SNAPSHOT_EVENT = "snapshot";
+    public static final String CHANGE_EVENT = "stats";
+
+    private final DashboardStatsService dashboardStatsService;
+    private final SseBroadcaster<DashboardStatsEventDTO> broadcaster;
+
+    private DashboardStatsEventDTO lastPushed;
+    private long lastVersion = -1;
+    private YearMonth lastMonth;
+
+    public DashboardEventService(DashboardStatsService dashboardStatsService,
+            @Value("${dashboard.events.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${dashboard.events.max-subscribers:100}") int maxSubscribers) {
+        this.dashboardStatsService = dashboardStatsService;
+        this.broadcaster = new SseBroadcaster<>("dashboard events", timeoutMinutes * 60_000, maxSubscribers, 64);
+    }
+
+    /**
+     * Opens a stream starting with a snapshot of every figure
+     */
+    public synchronized Optional<SseEmitter> subscribe() {
+        long version = dashboardStatsService.getVersion();
+        YearMonth month = YearMonth.now();
+        DashboardStatsEventDTO current = snapshot(month);
+        if (lastPushed == null) {
+            lastPushed = current;
+            lastVersion = version;
+            lastMonth = month;
+        }
+        return broadcaster.subscribe(event -> true, SNAPSHOT_EVENT, current);
+    }
+
+    @Scheduled(fixedRateString = "${dashboard.events.frame-ms:1000}")
+    public synchronized void pushChanges() {
+        if (broadcaster.getSubscriberCount() == 0) {
+            lastPushed = null;
+            return;
+        }
+        // Read before the figures, so a change made while reading them shows up next frame
+        long version = dashboardStatsService.getVersion();
+        YearMonth month = YearMonth.now();
+        if (version == lastVersion && month.equals(lastMonth)) {
+            return;
+        }
+        DashboardStatsEventDTO current = snapshot(month);
+        DashboardStatsEventDTO changes = diff(lastPushed, current);
+        lastPushed = current;
+        lastVersion = version;
+        lastMonth = month;
+        if (changes != null) {
+            broadcaster.publish(CHANGE_EVENT, changes);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.close();
+    }
+
+    private DashboardStatsEventDTO snapshot(YearMonth thisMonth) {
+        long totalPaintings = dashboardStatsService.getTotalPaintings();
+        long availablePaintings = dashboardStatsService.getAvailablePaintings();
+        return DashboardStatsEventDTO.builder()
+                .totalUsers(dashboardStatsService.getTotalUsers())
+                .activeUsers(dashboardStatsService.getActiveUsers())
+                .newUsersThisMonth(dashboardStatsService.getNewUsers(thisMonth))
+                .totalOrders(dashboardStatsService.getTotalOrders())
+                .pendingOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.PENDING))
+                .confirmedOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.CONFIRMED))
+                .shippedOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.SHIPPED))
+                .deliveredOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.DELIVERED))
+                .cancelledOrders(dashboardStatsService.getOrderCount(Order.OrderStatus.CANCELLED))
+                .totalRevenue(dashboardStatsService.getTotalRevenue())
+                .revenueThisMonth(dashboardStatsService.getRevenue(thisMonth))
+                .revenueThisYear(dashboardStatsService.getRevenueForYear(thisMonth.getYear()))
+                .totalPaintings(totalPaintings)
+                .availablePaintings(availablePaintings)
+                .outOfStockPaintings(totalPaintings - availablePaintings)
+                .orderStatusDistribution(dashboardStatsService.getOrderStatusDistribution())
+                .monthlyRevenueTrend(dashboardStatsService.getMonthlyRevenueTrend(12))
+                .build();
+    }
+
+    /**
+     * Changed fields only, or null when nothing changed
+     */
+    private static DashboardStatsEventDTO diff(DashboardStatsEventDTO previous, DashboardStatsEventDTO current) {
+        DashboardStatsEventDTO changes = new DashboardStatsEventDTO();
+        boolean changed = copyIfChanged(previous, current, DashboardStatsEventDTO::getTotalUsers, changes::setTotalUsers)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getActiveUsers, changes::setActiveUsers)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getNewUsersThisMonth, changes::setNewUsersThisMonth)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getTotalOrders, changes::setTotalOrders)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getPendingOrders, changes::setPendingOrders)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getConfirmedOrders, changes::setConfirmedOrders)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getShippedOrders, changes::setShippedOrders)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getDeliveredOrders, changes::setDeliveredOrders)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getCancelledOrders, changes::setCancelledOrders)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getTotalRevenue, changes::setTotalRevenue)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getRevenueThisMonth, changes::setRevenueThisMonth)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getRevenueThisYear, changes::setRevenueThisYear)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getTotalPaintings, changes::setTotalPaintings)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getAvailablePaintings, changes::setAvailablePaintings)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getOutOfStockPaintings, changes::setOutOfStockPaintings)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getOrderStatusDistribution, changes::setOrderStatusDistribution)
+                | copyIfChanged(previous, current, DashboardStatsEventDTO::getMonthlyRevenueTrend, changes::setMonthlyRevenueTrend);
+        return changed ? changes : null;
+    }
+
+    private static <V> boolean copyIfChanged(DashboardStatsEventDTO previous, DashboardStatsEventDTO current,
+            Function<DashboardStatsEventDTO, V> field, Consumer<V> setter) {
+        V value = field.apply(current);
+        if (previous != null && same(field.apply(previous), value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    private static boolean same(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+}
@@ -0,0 +1,446 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.admin.MonthlyRevenueDTO;
+import com.example.talkingCanvas.model.Order;
+import com.example.talkingCanvas.model.OrderItem;
+import com.example.talkingCanvas.model.User;
+import com.example.talkingCanvas.repository.DashboardStatRepository;
+import com.example.talkingCanvas.repository.OrderRepository;
+import com.example.talkingCanvas.repository.PaintingRepository;
+import com.example.talkingCanvas.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service maintaining the admin dashboard figures incrementally.
+ * <p>
+ * Order, user and painting writes add their deltas to {@code dashboard_stats} in their own
+ * transaction, so a figure changes exactly when the change behind it commits, and to an
+ * in-memory mirror after commit. The deltas of a transaction are summed and written together
+ * just before it commits, in key order, so the figure rows are locked only for the commit and
+ * always in the same order. Reading the dashboard costs no queries. The mirror is reloaded
+ * periodically to pick up other instances' writes, and a nightly job recomputes every figure
+ * from the source tables, logging and correcting any drift.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    static final String USERS_TOTAL = "users.total";
+    static final String USERS_ACTIVE = "users.active";
+    static final String USERS_CREATED = "users.created.";
+    static final String ORDERS_STATUS = "orders.status.";
+    static final String ORDERS_MONTH = "orders.month.";
+    static final String REVENUE_MONTH = "revenue.month.";
+    static final String UNITS_MONTH = "units.month.";
+    static final String PAINTINGS_TOTAL = "paintings.total";
+    static final String PAINTINGS_AVAILABLE = "paintings.available";
+
+    /** Advisory lock serializing reconciliation (and seeding) across instances */
+    private static final long RECONCILE_LOCK = 0x64617368L; // "dash"
+
+    private final DashboardStatRepository statRepository;
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final PaintingRepository paintingRepository;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<String, BigDecimal> mirror = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public DashboardStatsService(DashboardStatRepository statRepository, UserRepository userRepository,
+            OrderRepository orderRepository, PaintingRepository paintingRepository,
+            PlatformTransactionManager transactionManager) {
+        this.statRepository = statRepository;
+        this.userRepository = userRepository;
+        this.orderRepository = orderRepository;
+        this.paintingRepository = paintingRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTemplate.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        deltas.put(ORDERS_STATUS + order.getOrderStatus().name(), BigDecimal.ONE);
+        if (order.getOrderStatus() != Order.OrderStatus.CANCELLED) {
+            addRevenue(deltas, order, 1);
+        }
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order, Order.OrderStatus previous) {
+        Order.OrderStatus current = order.getOrderStatus();
+        if (previous == current) {
+            return;
+        }
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        deltas.put(ORDERS_STATUS + previous.name(), BigDecimal.ONE.negate());
+        deltas.put(ORDERS_STATUS + current.name(), BigDecimal.ONE);
+        // Cancelled orders do not count towards revenue
+        if (current == Order.OrderStatus.CANCELLED) {
+            addRevenue(deltas, order, -1);
+        } else if (previous == Order.OrderStatus.CANCELLED) {
+            addRevenue(deltas, order, 1);
+        }
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userRegistered(User user) {
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        deltas.put(USERS_TOTAL, BigDecimal.ONE);
+        deltas.put(USERS_CREATED + monthOf(user.getCreatedAt()), BigDecimal.ONE);
+        if (Boolean.TRUE.equals(user.getIsActive())) {
+            deltas.put(USERS_ACTIVE, BigDecimal.ONE);
+        }
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userActiveChanged(boolean active) {
+        apply(Map.of(USERS_ACTIVE, active ? BigDecimal.ONE : BigDecimal.ONE.negate()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paintingAdded(boolean available) {
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        deltas.put(PAINTINGS_TOTAL, BigDecimal.ONE);
+        if (available) {
+            deltas.put(PAINTINGS_AVAILABLE, BigDecimal.ONE);
+        }
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paintingAvailabilityChanged(boolean available) {
+        apply(Map.of(PAINTINGS_AVAILABLE, available ? BigDecimal.ONE : BigDecimal.ONE.negate()));
+    }
+
+    public long getTotalUsers() {
+        return count(USERS_TOTAL);
+    }
+
+    public long getActiveUsers() {
+        return count(USERS_ACTIVE);
+    }
+
+    public long getNewUsers(YearMonth month) {
+        return count(USERS_CREATED + month);
+    }
+
+    public long getOrderCount(Order.OrderStatus status) {
+        return count(ORDERS_STATUS + status.name());
+    }
+
+    public long getTotalOrders() {
+        long total = 0;
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            total += getOrderCount(status);
+        }
+        return total;
+    }
+
+    public Map<String, Long> getOrderStatusDistribution() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            long count = getOrderCount(status);
+            if (count > 0) {
+                distribution.put(status.name(), count);
+            }
+        }
+        return distribution;
+    }
+
+    public BigDecimal getRevenue(YearMonth month) {
+        return value(REVENUE_MONTH + month);
+    }
+
+    public long getOrderCount(YearMonth month) {
+        return count(ORDERS_MONTH + month);
+    }
+
+    public long getUnitsSold(YearMonth month) {
+        return count(UNITS_MONTH + month);
+    }
+
+    public BigDecimal getRevenueForYear(int year) {
+        return sumRevenue(REVENUE_MONTH + year + "-");
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return sumRevenue(REVENUE_MONTH);
+    }
+
+    /**
+     * The latest {@code limit} months with orders, newest first
+     */
+    public List<MonthlyRevenueDTO> getMonthlyRevenueTrend(int limit) {
+        return mirror.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(ORDERS_MONTH) && entry.getValue().signum() > 0)
+                .map(entry -> YearMonth.parse(entry.getKey().substring(ORDERS_MONTH.length())))
+                .sorted(Comparator.reverseOrder())
+                .limit(limit)
+                .map(month -> MonthlyRevenueDTO.builder()
+                        .year(month.getYear())
+                        .month(month.getMonthValue())
+                        .monthName(month.getMonth().name())
+                        .revenue(getRevenue(month))
+                        .orderCount(getOrderCount(month))
+                        .build())
+                .toList();
+    }
+
+    public long getTotalPaintings() {
+        return count(PAINTINGS_TOTAL);
+    }
+
+    public long getAvailablePaintings() {
+        return count(PAINTINGS_AVAILABLE);
+    }
+
+    /**
+     * A number that changes whenever the mirror may have, so readers can skip unchanged figures
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Loads the mirror, seeding the table from the source tables on first start or when figures
+     * added since (units sold per month) are missing
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refresh();
+        boolean unitsMissing = mirror.keySet().stream().anyMatch(key -> key.startsWith(REVENUE_MONTH))
+                && mirror.keySet().stream().noneMatch(key -> key.startsWith(UNITS_MONTH));
+        if (mirror.isEmpty() || unitsMissing) {
+            // Instances starting together all get here; the lock makes the later ones find the
+            // figures already seeded rather than add them again
+            logger.info("Seeding dashboard statistics");
+            reconcile(true);
+        }
+    }
+
+    /**
+     * Replaces the mirror with the table, picking up increments made by other instances. An
+     * increment committed here while the table is being read can be missed until the next run.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stats.refresh-ms:60000}",
+            initialDelayString = "${dashboard.stats.refresh-ms:60000}")
+    public void refresh() {
+        Map<String, BigDecimal> loaded = new ConcurrentHashMap<>();
+        statRepository.findAll().forEach(stat -> loaded.put(stat.getStatKey(), stat.getStatValue()));
+        mirror = loaded;
+        version.incrementAndGet();
+    }
+
+    /**
+     * Recomputes every figure from the source tables and corrects the ones that drifted. The
+     * figures and the source tables are read from one repeatable-read snapshot without locking
+     * any rows, and the corrections are then added as deltas, so increments committed since the
+     * snapshot are kept and writers never wait on the full-table aggregates.
+     * <p>
+     * Every instance runs this schedule. An advisory lock held until the corrections commit lets
+     * one of them reconcile; the others skip the run instead of adding the same corrections again.
+     */
+    @Scheduled(cron = "${dashboard.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        reconcile(false);
+    }
+
+    /**
+     * @param wait whether to wait for another instance's reconciliation to finish and then check
+     *             again, rather than skip
+     */
+    private void reconcile(boolean wait) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (wait) {
+                statRepository.lockForTransaction(RECONCILE_LOCK);
+            } else if (!statRepository.tryLockForTransaction(RECONCILE_LOCK)) {
+                logger.info("Dashboard statistics are being reconciled by another instance");
+                return;
+            }
+            // The snapshot starts after the lock is taken, so it sees the previous holder's
+            // corrections; they are written by this transaction, before it releases the lock
+            Map<String, BigDecimal> corrections = computeCorrections();
+            if (!corrections.isEmpty()) {
+                apply(corrections);
+            }
+        });
+        refresh();
+    }
+
+    private Map<String, BigDecimal> computeCorrections() {
+        return snapshotTemplate.execute(status -> {
+            Map<String, BigDecimal> stored = new HashMap<>();
+            statRepository.findAll().forEach(stat -> stored.put(stat.getStatKey(), stat.getStatValue()));
+            Map<String, BigDecimal> actual = computeFromSource();
+
+            Set<String> keys = new TreeSet<>(stored.keySet());
+            keys.addAll(actual.keySet());
+            Map<String, BigDecimal> drift = new TreeMap<>();
+            for (String key : keys) {
+                BigDecimal expected = actual.getOrDefault(key, BigDecimal.ZERO);
+                BigDecimal recorded = stored.getOrDefault(key, BigDecimal.ZERO);
+                if (recorded.compareTo(expected) != 0) {
+                    drift.put(key, expected.subtract(recorded));
+                    if (!stored.isEmpty()) {
+                        logger.warn("Dashboard statistic {} drifted: recorded {}, actual {}", key, recorded, expected);
+                    }
+                }
+            }
+            logger.info("Reconciled dashboard statistics: {} of {} figures corrected", drift.size(), keys.size());
+            return drift;
+        });
+    }
+
+    private Map<String, BigDecimal> computeFromSource() {
+        Map<String, BigDecimal> actual = new HashMap<>();
+        actual.put(USERS_TOTAL, BigDecimal.valueOf(userRepository.count()));
+        actual.put(USERS_ACTIVE, BigDecimal.valueOf(userRepository.countByIsActive(true)));
+        for (Object[] row : userRepository.countUsersByMonth()) {
+            actual.put(USERS_CREATED + yearMonth(row), BigDecimal.valueOf(((Number) row[2]).longValue()));
+        }
+
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            actual.put(ORDERS_STATUS + status.name(), BigDecimal.ZERO);
+        }
+        for (Object[] row : orderRepository.getOrderStatusDistribution()) {
+            actual.put(ORDERS_STATUS + row[0], BigDecimal.valueOf(((Number) row[1]).longValue()));
+        }
+        for (Object[] row : orderRepository.getMonthlyRevenueTrend()) {
+            YearMonth month = yearMonth(row);
+            actual.put(REVENUE_MONTH + month, (BigDecimal) row[2]);
+            actual.put(ORDERS_MONTH + month, BigDecimal.valueOf(((Number) row[3]).longValue()));
+        }
+        for (Object[] row : orderRepository.getMonthlyUnitsSold()) {
+            actual.put(UNITS_MONTH + yearMonth(row), BigDecimal.valueOf(((Number) row[2]).longValue()));
+        }
+
+        actual.put(PAINTINGS_TOTAL, BigDecimal.valueOf(paintingRepository.count()));
+        actual.put(PAINTINGS_AVAILABLE, BigDecimal.valueOf(paintingRepository.countByIsAvailable(true)));
+        return actual;
+    }
+
+    private void addRevenue(Map<String, BigDecimal> deltas, Order order, int sign) {
+        YearMonth month = monthOf(order.getCreatedAt());
+        BigDecimal amount = order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount();
+        long units = order.getItems().stream().mapToLong(OrderItem::getQuantity).sum();
+        deltas.put(ORDERS_MONTH + month, BigDecimal.valueOf(sign));
+        deltas.put(REVENUE_MONTH + month, sign < 0 ? amount.negate() : amount);
+        deltas.put(UNITS_MONTH + month, BigDecimal.valueOf(sign * units));
+    }
+
+    /**
+     * Adds the deltas to the current transaction's batch, written just before it commits
+     */
+    private void apply(Map<String, BigDecimal> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> apply(deltas));
+            return;
+        }
+        pendingDeltas().add(deltas);
+    }
+
+    /**
+     * The batch of the current transaction. Looked up among its synchronizations rather than
+     * bound as a resource, so a nested REQUIRES_NEW transaction gets a batch of its own.
+     */
+    private PendingDeltas pendingDeltas() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingDeltas pending) {
+                return pending;
+            }
+        }
+        PendingDeltas pending = new PendingDeltas();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private BigDecimal sumRevenue(String keyPrefix) {
+        return mirror.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(keyPrefix))
+                .map(Map.Entry::getValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private long count(String key) {
+        return value(key).longValue();
+    }
+
+    private BigDecimal value(String key) {
+        return mirror.getOrDefault(key, BigDecimal.ZERO);
+    }
+
+    private static YearMonth monthOf(LocalDateTime timestamp) {
+        return YearMonth.from(timestamp != null ? timestamp : LocalDateTime.now());
+    }
+
+    private static YearMonth yearMonth(Object[] row) {
+        return YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+    }
+
+    /**
+     * Deltas summed over one transaction, kept in key order, the order every writer locks rows in
+     */
+    private final class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<String, BigDecimal> deltas = new TreeMap<>();
+
+        void add(Map<String, BigDecimal> more) {
+            more.forEach((key, delta) -> deltas.merge(key, delta, BigDecimal::add));
+        }
+
+        @Override
+        public int getOrder() {
+            // Before the daily revenue batch, so every transaction locks the figure rows first
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            deltas.values().removeIf(delta -> delta.signum() == 0);
+            deltas.forEach(statRepository::addDelta);
+        }
+
+        @Override
+        public void afterCommit() {
+            deltas.forEach((key, delta) -> mirror.merge(key, delta, BigDecimal::add));
+            version.incrementAndGet();
+        }
+    }
+}
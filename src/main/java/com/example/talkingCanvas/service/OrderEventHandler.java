@@ -0,0 +1,43 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.order.OrderConfirmationEmailPayload;
+import com.example.talkingCanvas.model.OutboxEvent;
+import com.example.talkingCanvas.util.EmailService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the side effects of order outbox events. Delivery is at least once, so every effect
+ * must tolerate being applied again.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventHandler {
+
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+
+    public void handle(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case ORDER_CONFIRMATION_EMAIL -> sendConfirmation(read(event, OrderConfirmationEmailPayload.class));
+        }
+    }
+
+    private void sendConfirmation(OrderConfirmationEmailPayload payload) {
+        emailService.sendOrderConfirmationEmail(
+                payload.getCustomerEmail(),
+                payload.getCustomerName(),
+                payload.getOrderNumber(),
+                payload.getTotalAmount());
+    }
+
+    private <T> T read(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable payload in outbox event " + event.getId(), ex);
+        }
+    }
+}
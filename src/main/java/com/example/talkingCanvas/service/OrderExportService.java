@@ -0,0 +1,330 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.exception.TooManyRequestsException;
+import com.example.talkingCanvas.model.Order;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service writing orders for a date range as CSV or NDJSON, one flat row per order.
+ * <p>
+ * Rows are read with a forward-only JDBC cursor in a read-only transaction, which the PostgreSQL
+ * driver only honours the fetch size in, and written as they arrive, so memory use does not
+ * depend on the number of orders. Nothing is mapped to entities: each row carries the customer's
+ * name and email and the delivery location rather than the nested profiles of the order API.
+ * <p>
+ * Each export holds a database connection and a request thread for its whole run, so only
+ * {@code order.export.max-concurrent} run at once (others get 429) and each is cut off after
+ * {@code order.export.timeout}.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] COLUMNS = { "order_number", "created_at", "status", "customer_name",
+            "customer_email", "total_amount", "currency", "payment_method", "items", "units", "city", "state",
+            "country", "pincode", "tracking_info" };
+
+    private static final String EXPORT_SQL = """
+            SELECT o.order_number, o.created_at, o.order_status, u.name, u.email, o.total_amount, o.currency,
+                   o.payment_method, i.items, i.units, a.city, a.state, a.country, a.pincode, o.tracking_info
+            FROM orders o
+            JOIN users u ON u.id = o.user_id
+            LEFT JOIN addresses a ON a.id = o.delivery_address_id
+            LEFT JOIN LATERAL (
+                SELECT COUNT(*) AS items, COALESCE(SUM(oi.quantity), 0) AS units
+                FROM order_items oi WHERE oi.order_id = o.id
+            ) i ON TRUE
+            WHERE o.created_at >= ? AND o.created_at < ?
+            """;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Format must be CSV or NDJSON");
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+    private final Duration timeout;
+
+    public OrderExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, @Value("${order.export.fetch-size:1000}") int fetchSize,
+            @Value("${order.export.max-concurrent:2}") int maxConcurrent,
+            @Value("${order.export.timeout:10m}") Duration timeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(maxConcurrent);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Takes one of the export slots, to be closed when the export ends
+     *
+     * @throws TooManyRequestsException if every slot is taken
+     */
+    public Slot reserveSlot() {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many order exports are running; try again later");
+        }
+        return new Slot();
+    }
+
+    /**
+     * A reserved export slot; closing it more than once releases it once
+     */
+    public final class Slot implements AutoCloseable {
+
+        private boolean released;
+
+        private Slot() {
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                slots.release();
+            }
+        }
+    }
+
+    /**
+     * Checks the arguments of an export up front, so a bad request fails before the response
+     * is committed
+     */
+    public Order.OrderStatus validate(LocalDate from, LocalDate to, String status) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("A date range with 'from' on or before 'to' is required");
+        }
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Order.OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid order status: " + status);
+        }
+    }
+
+    /**
+     * Writes the orders placed from {@code from} to {@code to} inclusive, oldest first
+     *
+     * @param status only orders in this status, or null for all
+     * @param gzip whether to gzip what is written
+     */
+    public void export(LocalDate from, LocalDate to, Order.OrderStatus status, Format format, boolean gzip,
+            OutputStream out) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        long deadline = startedAt + timeout.toMillis();
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from.atStartOfDay()),
+                Timestamp.valueOf(to.plusDays(1).atStartOfDay())));
+        String sql = EXPORT_SQL;
+        if (status != null) {
+            sql += " AND o.order_status = ?";
+            args.add(status.name());
+        }
+        String query = sql + " ORDER BY o.created_at, o.id";
+
+        long[] count = new long[1];
+        try {
+            rows.begin();
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.query(query, rs -> {
+                try {
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new IOException("Export exceeded " + timeout);
+                    }
+                    rows.write(rs);
+                    count[0]++;
+                } catch (IOException ex) {
+                    // Usually the client going away; stops the query instead of reading on
+                    throw new UncheckedIOException(ex);
+                }
+            }, args.toArray()));
+            rows.end();
+            writer.flush();
+            if (gzip) {
+                ((GZIPOutputStream) target).finish();
+            }
+        } catch (UncheckedIOException ex) {
+            logger.info("Order export from {} to {} aborted after {} rows: {}", from, to, count[0],
+                    ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        logger.info("Exported {} orders from {} to {} as {} in {} ms", count[0], from, to, format,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    public String fileName(LocalDate from, LocalDate to, Format format, boolean gzip) {
+        return "orders-" + from + "-to-" + to + "." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    private interface RowWriter {
+
+        default void begin() throws IOException {
+        }
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        default void end() throws IOException {
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(COLUMNS[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i);
+                if (value instanceof Timestamp timestamp) {
+                    writer.write(timestamp.toLocalDateTime().toString());
+                } else if (value instanceof BigDecimal amount) {
+                    writer.write(amount.toPlainString());
+                } else if (value instanceof Number number) {
+                    writer.write(number.toString());
+                } else if (value != null) {
+                    writeText(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeText(String value) throws IOException {
+            // Spreadsheets run cells starting with these as formulas
+            boolean formula = !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+            boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            if (formula) {
+                writer.write('\'');
+            }
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // Rows are separated by the newline written after each; no root separator before them
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeStringField("orderNumber", rs.getString(1));
+            generator.writeStringField("createdAt", rs.getTimestamp(2).toLocalDateTime().toString());
+            generator.writeStringField("status", rs.getString(3));
+            generator.writeStringField("customerName", rs.getString(4));
+            generator.writeStringField("customerEmail", rs.getString(5));
+            generator.writeNumberField("totalAmount", rs.getBigDecimal(6));
+            generator.writeStringField("currency", rs.getString(7));
+            generator.writeStringField("paymentMethod", rs.getString(8));
+            generator.writeNumberField("items", rs.getLong(9));
+            generator.writeNumberField("units", rs.getLong(10));
+            generator.writeStringField("city", rs.getString(11));
+            generator.writeStringField("state", rs.getString(12));
+            generator.writeStringField("country", rs.getString(13));
+            generator.writeStringField("pincode", rs.getString(14));
+            generator.writeStringField("trackingInfo", rs.getString(15));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.flush();
+        }
+    }
+}
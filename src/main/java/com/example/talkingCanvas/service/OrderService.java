@@ -2,24 +2,35 @@ package com.example.talkingCanvas.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.annotation.CacheEvict;
 
+import com.example.talkingCanvas.dto.common.CursorPageResponse;
 import com.example.talkingCanvas.dto.order.AdminContactDTO;
 import com.example.talkingCanvas.dto.order.CreateOrderRequest;
+import com.example.talkingCanvas.dto.order.OrderConfirmationEmailPayload;
+import com.example.talkingCanvas.dto.order.OrderItemDTO;
 import com.example.talkingCanvas.dto.order.OrderResponse;
+import com.example.talkingCanvas.dto.order.OrderSummaryDTO;
 import com.example.talkingCanvas.dto.user.AddressDTO;
+import com.example.talkingCanvas.event.PaintingChangedEvent;
 import com.example.talkingCanvas.exception.BadRequestException;
 import com.example.talkingCanvas.exception.ResourceNotFoundException;
 import com.example.talkingCanvas.model.Address;
@@ -27,15 +38,19 @@ import com.example.talkingCanvas.model.Cart;
 import com.example.talkingCanvas.model.CartItem;
 import com.example.talkingCanvas.model.Order;
 import com.example.talkingCanvas.model.OrderItem;
+import com.example.talkingCanvas.model.OutboxEvent;
 import com.example.talkingCanvas.model.Painting;
 import com.example.talkingCanvas.model.User;
 import com.example.talkingCanvas.repository.AddressRepository;
 import com.example.talkingCanvas.repository.CartRepository;
+import com.example.talkingCanvas.repository.OrderItemRepository;
 import com.example.talkingCanvas.repository.OrderRepository;
 import com.example.talkingCanvas.repository.PaintingRepository;
 import com.example.talkingCanvas.repository.UserRepository;
-import com.example.talkingCanvas.util.EmailService;
+import com.example.talkingCanvas.util.AfterCommit;
+import com.example.talkingCanvas.util.KeysetCursor;
 import com.example.talkingCanvas.util.MapperUtil;
+import com.example.talkingCanvas.util.OrderNumberGenerator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -48,13 +63,27 @@ public class OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
+
+    /** Caches showing stock, availability or sales figures */
+    private static final List<String> STOCK_CACHES = List.of("paintings", "http-responses", "user-wishlist",
+            "dashboard-stats");
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
     private final AddressRepository addressRepository;
     private final PaintingRepository paintingRepository;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockHoldService stockHoldService;
+    private final DashboardStatsService dashboardStatsService;
+    private final RevenueRollupService revenueRollupService;
+    private final OrderNumberGenerator orderNumberGenerator;
     private final MapperUtil mapperUtil;
+    private final CacheManager cacheManager;
+    private final TrendingService trendingService;
 
     @Value("${admin.default.name}")
     private String adminName;
@@ -66,7 +95,6 @@ public class OrderService {
     private String adminPhone;
 
     @Transactional
-    @CacheEvict(value = { "paintings", "dashboard-stats" }, allEntries = true)
     public OrderResponse createOrder(Long userId, CreateOrderRequest request) {
         logger.info("Creating order for user: {}", userId);
 
@@ -86,9 +114,11 @@ public class OrderService {
             if (!painting.getIsAvailable()) {
                 throw new BadRequestException("Painting '" + painting.getTitle() + "' is no longer available");
             }
-            if (painting.getStockQuantity() < item.getQuantity()) {
+            // Units held in other shoppers' carts are not for sale until their hold expires
+            int available = painting.getStockQuantity() - stockHoldService.getHeldQuantity(painting.getId(), userId);
+            if (available < item.getQuantity()) {
                 throw new BadRequestException("Insufficient stock for '" + painting.getTitle() + "'. Available: "
-                        + painting.getStockQuantity());
+                        + Math.max(available, 0));
             }
         }
 
@@ -112,7 +142,7 @@ public class OrderService {
                 .setScale(2, java.math.RoundingMode.HALF_UP);
 
         // Generate order number
-        String orderNumber = generateOrderNumber();
+        String orderNumber = orderNumberGenerator.nextOrderNumber();
 
         // Create order
         Order order = Order.builder()
@@ -138,36 +168,50 @@ public class OrderService {
                     .artistName(painting.getArtistName())
                     .build();
             order.addItem(orderItem);
+        }
 
-            // Update stock quantity
-            painting.setStockQuantity(painting.getStockQuantity() - cartItem.getQuantity());
-            if (painting.getStockQuantity() == 0) {
-                painting.setIsAvailable(false);
+        // Reserve stock with conditional updates rather than writing back the entity read above,
+        // which may be stale by now. Items are reserved in id order so that two multi-item
+        // checkouts always lock rows in the same order.
+        LocalDateTime now = LocalDateTime.now();
+        List<CartItem> itemsById = cart.getItems().stream()
+                .sorted(Comparator.comparing(item -> item.getPainting().getId()))
+                .toList();
+        for (CartItem cartItem : itemsById) {
+            Painting painting = cartItem.getPainting();
+            if (paintingRepository.reserveStock(painting.getId(), cartItem.getQuantity(), now) == 0) {
+                int available = paintingRepository.findStockQuantityById(painting.getId()).orElse(0);
+                throw new BadRequestException("Insufficient stock for '" + painting.getTitle() + "'. Available: "
+                        + available);
+            }
+            // Taking the last unit also made the painting unavailable
+            if (paintingRepository.findStockQuantityById(painting.getId()).orElse(0) == 0) {
+                dashboardStatsService.paintingAvailabilityChanged(false);
             }
-            // Increment purchase count
-            painting.incrementPurchaseCount();
-            paintingRepository.save(painting);
+            eventPublisher.publishEvent(new PaintingChangedEvent(painting.getId()));
         }
 
         Order savedOrder = orderRepository.save(order);
         // Force flush to catch constraints violations immediately
         orderRepository.flush();
+        dashboardStatsService.orderPlaced(savedOrder);
+        revenueRollupService.orderPlaced(savedOrder);
 
         // Clear cart
         cart.clear();
         cartRepository.save(cart);
-
-        // Send order confirmation email - safely
-        try {
-            emailService.sendOrderConfirmationEmail(
-                    user.getEmail(),
-                    user.getName(),
-                    orderNumber,
-                    totalAmount.toString() + " INR");
-        } catch (Exception e) {
-            logger.error("Failed to send order confirmation email for order: {}", orderNumber, e);
-            // Don't rollback the order if email fails
-        }
+        releaseHoldsAfterCommit(userId);
+
+        stockChangedAfterCommit(savedOrder, false);
+        // The confirmation email is sent after commit via the outbox, keeping SMTP latency out of
+        // this transaction
+        outboxService.enqueue(OutboxEvent.EventType.ORDER_CONFIRMATION_EMAIL, savedOrder.getId(),
+                OrderConfirmationEmailPayload.builder()
+                        .orderNumber(orderNumber)
+                        .customerEmail(user.getEmail())
+                        .customerName(user.getName())
+                        .totalAmount(totalAmount.toString() + " INR")
+                        .build());
 
         logger.info("Order created successfully: {}", orderNumber);
 
@@ -214,8 +258,37 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated order history, newest first. Each page costs two queries (orders with
+     * their delivery address, then the items of those orders) however far back it is.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderSummaryDTO> getOrderHistory(Long userId, String cursor, int size) {
+        logger.info("Fetching order history for user: {}", userId);
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findHistoryByUserId(userId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            orders = orderRepository.findHistoryByUserIdBefore(userId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = orders.size() > pageSize;
+        List<Order> page = hasMore ? orders.subList(0, pageSize) : orders;
+        Order last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageResponse.<OrderSummaryDTO>builder()
+                .content(toSummaries(page))
+                .pageSize(pageSize)
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional
-    @CacheEvict(value = { "paintings", "dashboard-stats" }, allEntries = true)
     public OrderResponse cancelOrder(Long userId, Long orderId) {
         logger.info("Cancelling order: {} for user: {}", orderId, userId);
         Order order = orderRepository.findById(orderId)
@@ -230,17 +303,25 @@ public class OrderService {
             throw new BadRequestException("Order cannot be cancelled");
         }
 
+        Order.OrderStatus previousStatus = order.getOrderStatus();
         order.setOrderStatus(Order.OrderStatus.CANCELLED);
 
         // Restore stock
+        LocalDateTime now = LocalDateTime.now();
         for (OrderItem item : order.getItems()) {
-            Painting painting = item.getPainting();
-            painting.setStockQuantity(painting.getStockQuantity() + item.getQuantity());
-            painting.setIsAvailable(true);
-            paintingRepository.save(painting);
+            Long paintingId = item.getPainting().getId();
+            boolean wasAvailable = Boolean.TRUE.equals(item.getPainting().getIsAvailable());
+            paintingRepository.restoreStock(paintingId, item.getQuantity(), now);
+            if (!wasAvailable) {
+                dashboardStatsService.paintingAvailabilityChanged(true);
+            }
+            eventPublisher.publishEvent(new PaintingChangedEvent(paintingId));
         }
 
         Order updatedOrder = orderRepository.save(order);
+        dashboardStatsService.orderStatusChanged(updatedOrder, previousStatus);
+        revenueRollupService.orderStatusChanged(updatedOrder, previousStatus);
+        stockChangedAfterCommit(updatedOrder, true);
         logger.info("Order cancelled: {}", orderId);
 
         AdminContactDTO adminContact = AdminContactDTO.builder()
@@ -252,10 +333,61 @@ public class OrderService {
         return mapperUtil.toOrderResponse(updatedOrder, adminContact);
     }
 
-    private String generateOrderNumber() {
-        // Use millis and random number to ensure uniqueness
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS"));
-        int random = (int) (Math.random() * 1000);
-        return "TC" + timestamp + String.format("%03d", random);
+    /**
+     * Releases the buyer's cart holds once the order is committed; the sold units have left
+     * stock by then, so releasing earlier would briefly offer them twice.
+     */
+    private void releaseHoldsAfterCommit(Long userId) {
+        AfterCommit.run(() -> stockHoldService.releaseAllInNewTransaction(userId));
+    }
+
+    private List<OrderSummaryDTO> toSummaries(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<OrderItemDTO>> itemsByOrder = new HashMap<>();
+        for (Object[] row : orderItemRepository.findItemRowsByOrderIds(orders.stream().map(Order::getId).toList())) {
+            Integer quantity = (Integer) row[5];
+            BigDecimal price = (BigDecimal) row[6];
+            itemsByOrder.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(OrderItemDTO.builder()
+                    .id((Long) row[1])
+                    .paintingId((Long) row[2])
+                    .paintingTitle((String) row[3])
+                    .artistName((String) row[4])
+                    .quantity(quantity)
+                    .priceAtPurchase(price)
+                    .subtotal(price.multiply(BigDecimal.valueOf(quantity)))
+                    .build());
+        }
+        return orders.stream()
+                .map(order -> mapperUtil.toOrderSummaryDTO(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Once the order's stock change commits, evicts what shows the paintings' stock or the sales
+     * figures and counts a purchase towards trending. Both are local to this instance, like the
+     * evictions of painting edits, so they do not go through the outbox, which one instance
+     * consumes.
+     */
+    private void stockChangedAfterCommit(Order order, boolean cancelled) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        order.getItems().forEach(item -> quantities.merge(item.getPainting().getId(), item.getQuantity(), Integer::sum));
+        AfterCommit.run(() -> {
+            Cache details = cacheManager.getCache("painting-details");
+            if (details != null) {
+                quantities.keySet().forEach(details::evict);
+            }
+            for (String name : STOCK_CACHES) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            if (!cancelled) {
+                quantities.forEach((paintingId, quantity) ->
+                        trendingService.record(paintingId, TrendingService.Signal.PURCHASE, quantity));
+            }
+        });
     }
 }
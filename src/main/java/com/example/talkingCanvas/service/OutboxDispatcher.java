@@ -0,0 +1,129 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.model.OutboxEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background worker delivering outbox events. It runs on its own thread, so request threads
+ * (and their database connections) never wait on SMTP.
+ * <p>
+ * Only effects that must happen once across all instances belong here: an event is claimed by a
+ * single instance. Per-instance effects such as cache eviction run after commit instead.
+ * <p>
+ * Woken right after a transaction that enqueued events commits, and polled periodically to
+ * pick up retries and events left behind by other instances or a crash.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final Set<OutboxEvent.EventType> EMAIL_EVENTS = EnumSet.of(
+            OutboxEvent.EventType.ORDER_CONFIRMATION_EMAIL);
+
+    private final OutboxService outboxService;
+    private final OrderEventHandler orderEventHandler;
+
+    @Value("${outbox.batch-size:20}")
+    private int batchSize;
+
+    private final Lane emailLane = new Lane("outbox-email", EMAIL_EVENTS);
+
+    @TransactionalEventListener
+    public void onEventCommitted(OutboxEvent event) {
+        emailLane.trigger();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:5000}")
+    public void poll() {
+        trigger();
+    }
+
+    /**
+     * Queues a dispatch pass unless one is already waiting to run
+     */
+    public void trigger() {
+        emailLane.trigger();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        emailLane.executor.shutdown();
+        if (!emailLane.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Outbox dispatcher still busy at shutdown; leased events will be retried");
+            emailLane.executor.shutdownNow();
+        }
+    }
+
+    private void dispatch(OutboxEvent event) {
+        try {
+            orderEventHandler.handle(event);
+            outboxService.markSent(event.getId());
+        } catch (RuntimeException ex) {
+            logger.warn("Outbox event {} ({}) attempt {} failed: {}",
+                    event.getId(), event.getEventType(), event.getAttempts(), ex.getMessage());
+            outboxService.markFailed(event.getId(), ex.toString());
+        }
+    }
+
+    /**
+     * Single-threaded dispatcher for a set of event types
+     */
+    private final class Lane {
+
+        private final Set<OutboxEvent.EventType> types;
+        private final ExecutorService executor;
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        private Lane(String threadName, Set<OutboxEvent.EventType> types) {
+            this.types = types;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void trigger() {
+            if (!queued.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                queued.set(false);
+            }
+        }
+
+        private void drain() {
+            // Cleared first so a trigger arriving mid-pass queues another pass
+            queued.set(false);
+            try {
+                List<OutboxEvent> batch;
+                do {
+                    batch = outboxService.claimDueEvents(types, batchSize);
+                    batch.forEach(OutboxDispatcher.this::dispatch);
+                } while (batch.size() == batchSize);
+            } catch (RuntimeException ex) {
+                logger.warn("Outbox dispatch pass for {} failed: {}", types, ex.getMessage());
+            }
+        }
+    }
+}
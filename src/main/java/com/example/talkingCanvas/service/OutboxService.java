@@ -0,0 +1,129 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.model.OutboxEvent;
+import com.example.talkingCanvas.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service for the transactional outbox.
+ * <p>
+ * Side effects are stored as {@link OutboxEvent} rows in the caller's transaction, so they exist
+ * exactly when the change that caused them commits. {@link OutboxDispatcher} delivers them
+ * afterwards, at least once: a claimed event is leased for {@code outbox.lease-seconds} and
+ * becomes due again if its worker dies before recording the outcome.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.initial-backoff-ms:10000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays;
+
+    /**
+     * Records an event in the current transaction. The dispatcher is woken once it commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(OutboxEvent.EventType eventType, Long aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize outbox payload for " + eventType, ex);
+        }
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .payload(json)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(event);
+        return event;
+    }
+
+    /**
+     * Claims up to {@code limit} due events of the given types by leasing them, so neither this
+     * nor another instance picks them up again while they are being dispatched
+     */
+    @Transactional
+    public List<OutboxEvent> claimDueEvents(Set<OutboxEvent.EventType> types, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockDueEvents(now,
+                types.stream().map(Enum::name).toList(), limit);
+        for (OutboxEvent event : events) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+        }
+        return outboxEventRepository.saveAll(events);
+    }
+
+    @Transactional
+    public void markSent(Long eventId) {
+        outboxEventRepository.findById(eventId).ifPresent(event -> {
+            event.setStatus(OutboxEvent.Status.SENT);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setLastError(null);
+        });
+    }
+
+    /**
+     * Schedules a retry with exponential backoff and jitter, or gives up after
+     * {@code outbox.max-attempts}
+     */
+    @Transactional
+    public void markFailed(Long eventId, String error) {
+        outboxEventRepository.findById(eventId).ifPresent(event -> {
+            event.setLastError(error);
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(OutboxEvent.Status.FAILED);
+                event.setProcessedAt(LocalDateTime.now());
+                logger.error("Outbox event {} ({}) failed permanently after {} attempts: {}",
+                        eventId, event.getEventType(), event.getAttempts(), error);
+                return;
+            }
+            long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(event.getAttempts() - 1, 20));
+            long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            event.setNextAttemptAt(LocalDateTime.now().plusNanos(jittered * 1_000_000));
+        });
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeSentEvents() {
+        int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info("Purged {} dispatched outbox events", deleted);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.painting.PaintingEventDTO;
+import com.example.talkingCanvas.event.PaintingChangedEvent;
+import com.example.talkingCanvas.repository.PaintingRepository;
+import com.example.talkingCanvas.util.SseBroadcaster;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service pushing painting availability, price and stock changes to SSE subscribers.
+ * <p>
+ * Writers publish {@link PaintingChangedEvent}s. After their transaction commits, the changed ids
+ * are collected and read back in one query on a background virtual thread, so bursts for the same
+ * painting collapse into one event and request threads never wait. Subscribers come and go
+ * between events, so each event carries the painting's full state; a painting is only skipped
+ * when nothing a subscriber sees changed since it was last pushed.
+ */
+@Service
+public class PaintingEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaintingEventService.class);
+
+    public static final String EVENT_NAME = "painting";
+
+    private final PaintingRepository paintingRepository;
+    private final StockHoldService stockHoldService;
+    private final SseBroadcaster<PaintingEventDTO> broadcaster;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("painting-events").factory());
+    private final Map<Long, Snapshot> lastPushed = new ConcurrentHashMap<>();
+
+    public PaintingEventService(PaintingRepository paintingRepository, StockHoldService stockHoldService,
+            @Value("${painting.events.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${painting.events.max-subscribers:10000}") int maxSubscribers) {
+        this.paintingRepository = paintingRepository;
+        this.stockHoldService = stockHoldService;
+        this.broadcaster = new SseBroadcaster<>("painting events", timeoutMinutes * 60_000, maxSubscribers, 256);
+    }
+
+    /**
+     * Opens a stream of changes for the given paintings, or all paintings when none are given
+     */
+    public Optional<SseEmitter> subscribe(Set<Long> paintingIds) {
+        if (paintingIds == null || paintingIds.isEmpty()) {
+            return broadcaster.subscribe(event -> true);
+        }
+        Set<Long> ids = Set.copyOf(paintingIds);
+        return broadcaster.subscribe(event -> ids.contains(event.getPaintingId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaintingChanged(PaintingChangedEvent event) {
+        pending.add(event.paintingId());
+        if (flushQueued.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${painting.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    public int getSubscriberCount() {
+        return broadcaster.getSubscriberCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        broadcaster.close();
+    }
+
+    private void flush() {
+        // Cleared first so ids arriving while this runs queue another flush
+        flushQueued.set(false);
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        if (broadcaster.getSubscriberCount() == 0) {
+            // Nobody to tell; forget what was pushed so the next change is sent whatever it is
+            lastPushed.clear();
+            return;
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            for (Object[] row : paintingRepository.findAvailabilityByIds(ids)) {
+                Long id = (Long) row[0];
+                Integer stock = (Integer) row[2];
+                Snapshot current = new Snapshot((BigDecimal) row[1], stock,
+                        stockHoldService.getAvailableQuantity(id, stock), (Boolean) row[3]);
+                if (!current.sameAs(lastPushed.put(id, current))) {
+                    broadcaster.publish(EVENT_NAME, current.toEvent(id));
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to push painting changes for {}: {}", ids, ex.getMessage());
+        }
+    }
+
+    private record Snapshot(BigDecimal price, Integer stockQuantity, Integer availableQuantity, Boolean isAvailable) {
+
+        /**
+         * Whether a subscriber would see no difference; prices compare by amount, not scale
+         */
+        boolean sameAs(Snapshot previous) {
+            return previous != null
+                    && (price == null || previous.price == null ? price == previous.price : price.compareTo(previous.price) == 0)
+                    && Objects.equals(stockQuantity, previous.stockQuantity)
+                    && Objects.equals(availableQuantity, previous.availableQuantity)
+                    && Objects.equals(isAvailable, previous.isAvailable);
+        }
+
+        PaintingEventDTO toEvent(Long paintingId) {
+            return PaintingEventDTO.builder()
+                    .paintingId(paintingId)
+                    .price(price)
+                    .stockQuantity(stockQuantity)
+                    .availableQuantity(availableQuantity)
+                    .isAvailable(isAvailable)
+                    .build();
+        }
+    }
+}
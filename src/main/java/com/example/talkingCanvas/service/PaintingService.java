@@ -3,26 +3,31 @@ package com.example.talkingCanvas.service;
 import com.example.talkingCanvas.dto.common.PageResponse;
 import com.example.talkingCanvas.dto.painting.CategoryDTO;
 import com.example.talkingCanvas.dto.painting.CreatePaintingRequest;
+import com.example.talkingCanvas.dto.painting.ImageContentDTO;
 import com.example.talkingCanvas.dto.painting.PaintingResponse;
+import com.example.talkingCanvas.event.PaintingChangedEvent;
 import com.example.talkingCanvas.exception.ResourceNotFoundException;
 import com.example.talkingCanvas.model.Painting;
 import com.example.talkingCanvas.model.PaintingCategory;
 import com.example.talkingCanvas.model.PaintingCertificate;
 import com.example.talkingCanvas.model.PaintingImage;
 import com.example.talkingCanvas.repository.*;
+import com.example.talkingCanvas.util.AfterCommit;
 import com.example.talkingCanvas.util.FileStorageService;
 import com.example.talkingCanvas.util.MapperUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -40,12 +45,18 @@ public class PaintingService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaintingService.class);
 
+    /** Caches listing paintings, cleared on any painting change */
+    private static final List<String> LISTING_CACHES = List.of("paintings", "http-responses", "user-wishlist");
+
     private final PaintingRepository paintingRepository;
     private final PaintingCategoryRepository categoryRepository;
     private final PaintingImageRepository imageRepository;
     private final PaintingCertificateRepository certificateRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DashboardStatsService dashboardStatsService;
     private final MapperUtil mapperUtil;
+    private final CacheManager cacheManager;
 
     @Value("${admin.default.uncle.name}")
     private String defaultArtistName;
@@ -74,16 +85,16 @@ public class PaintingService {
         return mapToPageResponse(paintingPage);
     }
 
-    @Transactional
+    /**
+     * Detail read model, cached per id. Views are recorded by the caller so cache hits count too.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "painting-details", key = "#id")
     public PaintingResponse getPaintingById(Long id) {
         logger.info("Fetching painting: {}", id);
         Painting painting = paintingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Painting", "id", id));
 
-        // Increment view count
-        painting.incrementViewCount();
-        paintingRepository.save(painting);
-
         return mapperUtil.toPaintingResponse(painting);
     }
 
@@ -116,7 +127,6 @@ public class PaintingService {
     }
 
     @Transactional
-    @CacheEvict(value = { "paintings", "dashboard-stats" }, allEntries = true)
     public PaintingResponse createPainting(CreatePaintingRequest request) {
         logger.info("Creating new painting: {}", request.getTitle());
 
@@ -150,6 +160,9 @@ public class PaintingService {
         }
 
         Painting savedPainting = paintingRepository.save(painting);
+        dashboardStatsService.paintingAdded(Boolean.TRUE.equals(savedPainting.getIsAvailable()));
+        evictAfterCommit(null, true);
+        eventPublisher.publishEvent(new PaintingChangedEvent(savedPainting.getId()));
         logger.info("Painting created successfully: {}", savedPainting.getId());
         return mapperUtil.toPaintingResponse(savedPainting);
     }
@@ -171,7 +184,6 @@ public class PaintingService {
     }
 
     @Transactional
-    @CacheEvict(value = { "paintings", "painting-details", "dashboard-stats" }, allEntries = true)
     public PaintingResponse updatePainting(Long id, CreatePaintingRequest request) {
         logger.info("Updating painting: {}", id);
         Painting painting = paintingRepository.findById(id)
@@ -187,6 +199,7 @@ public class PaintingService {
         painting.setDepth(request.getDepth());
         painting.setMedium(request.getMedium());
         painting.setYearCreated(request.getYearCreated());
+        boolean wasAvailable = Boolean.TRUE.equals(painting.getIsAvailable());
         painting.setIsAvailable(request.getIsAvailable());
         painting.setStockQuantity(request.getStockQuantity());
         painting.setAdminRecommendation(request.getAdminRecommendation());
@@ -206,23 +219,32 @@ public class PaintingService {
         }
 
         Painting updatedPainting = paintingRepository.save(painting);
+        if (wasAvailable != Boolean.TRUE.equals(updatedPainting.getIsAvailable())) {
+            dashboardStatsService.paintingAvailabilityChanged(!wasAvailable);
+        }
+        evictAfterCommit(id, true);
+        eventPublisher.publishEvent(new PaintingChangedEvent(id));
         logger.info("Painting updated successfully: {}", id);
         return mapperUtil.toPaintingResponse(updatedPainting);
     }
 
     @Transactional
-    @CacheEvict(value = { "paintings", "painting-details", "dashboard-stats" }, allEntries = true)
     public void deletePainting(Long id) {
         logger.info("Soft deleting painting: {}", id);
         Painting painting = paintingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Painting", "id", id));
+        boolean wasAvailable = Boolean.TRUE.equals(painting.getIsAvailable());
         painting.setIsAvailable(false);
         paintingRepository.save(painting);
+        if (wasAvailable) {
+            dashboardStatsService.paintingAvailabilityChanged(false);
+        }
+        evictAfterCommit(id, true);
+        eventPublisher.publishEvent(new PaintingChangedEvent(id));
         logger.info("Painting soft deleted: {}", id);
     }
 
     @Transactional
-    @CacheEvict(value = { "paintings", "painting-details" }, allEntries = true)
     public void uploadImages(Long paintingId, MultipartFile[] files) {
         logger.info("Uploading {} images for painting: {}", files.length, paintingId);
         Painting painting = paintingRepository.findById(paintingId)
@@ -250,12 +272,13 @@ public class PaintingService {
             }
         }
 
+        painting.touch();
         paintingRepository.save(painting);
+        evictAfterCommit(paintingId, false);
         logger.info("Images uploaded successfully for painting: {}", paintingId);
     }
 
     @Transactional
-    @CacheEvict(value = { "paintings", "painting-details" }, allEntries = true)
     public void deleteImage(Long paintingId, Long imageId) {
         logger.info("Deleting image {} from painting {}", imageId, paintingId);
         Painting painting = paintingRepository.findById(paintingId)
@@ -276,10 +299,26 @@ public class PaintingService {
             painting.getImages().get(0).setIsPrimary(true);
         }
 
+        painting.touch();
         paintingRepository.save(painting);
+        evictAfterCommit(paintingId, false);
+        AfterCommit.run(() -> evict("painting-images", imageId));
         logger.info("Image deleted successfully");
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(value = "painting-images", key = "#imageId")
+    public ImageContentDTO getImageContent(Long imageId) {
+        PaintingImage image = imageRepository.findById(imageId)
+                .orElseThrow(() -> new ResourceNotFoundException("PaintingImage", "id", imageId));
+        return ImageContentDTO.builder()
+                .id(image.getId())
+                .data(image.getData())
+                .fileName(image.getFileName())
+                .contentType(image.getContentType())
+                .build();
+    }
+
     @Transactional
     public void uploadCertificate(Long paintingId, MultipartFile file, String title, String issuer, LocalDate issueDate,
             String description) {
@@ -298,6 +337,9 @@ public class PaintingService {
                 .build();
 
         certificateRepository.save(certificate);
+        painting.touch();
+        paintingRepository.save(painting);
+        evictAfterCommit(paintingId, false);
         logger.info("Certificate uploaded successfully for painting: {}", paintingId);
     }
 
@@ -311,7 +353,6 @@ public class PaintingService {
     }
 
     @Transactional
-    @CacheEvict(value = "categories", allEntries = true)
     public CategoryDTO createCategory(String name, String description) {
         logger.info("Creating new category: {}", name);
         PaintingCategory category = PaintingCategory.builder()
@@ -319,6 +360,10 @@ public class PaintingService {
                 .description(description)
                 .build();
         PaintingCategory savedCategory = categoryRepository.save(category);
+        AfterCommit.run(() -> {
+            clear("categories");
+            clear("http-responses");
+        });
         return mapperUtil.toCategoryDTO(savedCategory);
     }
 
@@ -329,10 +374,6 @@ public class PaintingService {
         Painting painting = paintingRepository.findByIdWithImages(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Painting", "id", id));
 
-        // Increment view count
-        painting.incrementViewCount();
-        paintingRepository.save(painting);
-
         return mapperUtil.toPaintingResponse(painting);
     }
 
@@ -344,6 +385,39 @@ public class PaintingService {
         return updatePainting(id, request);
     }
 
+    /**
+     * Evicts cached reads of a painting (and the listings) once the transaction commits.
+     * Evicting earlier would let a concurrent read cache the old row again before the commit.
+     *
+     * @param paintingId painting whose details to evict, or null for a new painting
+     * @param stats      whether the change also affects the dashboard figures
+     */
+    private void evictAfterCommit(Long paintingId, boolean stats) {
+        AfterCommit.run(() -> {
+            LISTING_CACHES.forEach(this::clear);
+            if (stats) {
+                clear("dashboard-stats");
+            }
+            if (paintingId != null) {
+                evict("painting-details", paintingId);
+            }
+        });
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
     private PageResponse<PaintingResponse> mapToPageResponse(Page<Painting> paintingPage) {
         List<PaintingResponse> content = paintingPage.getContent().stream()
                 .map(mapperUtil::toPaintingResponse)
@@ -0,0 +1,279 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.admin.RevenueBackfillResponse;
+import com.example.talkingCanvas.dto.admin.RevenueRollupDTO;
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.model.DailyRevenue;
+import com.example.talkingCanvas.model.Order;
+import com.example.talkingCanvas.model.OrderItem;
+import com.example.talkingCanvas.repository.DailyRevenueRepository;
+import com.example.talkingCanvas.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the daily and monthly revenue rollups.
+ * <p>
+ * Placing, cancelling or un-cancelling an order adjusts its day in the same transaction, so
+ * range queries read a row per period instead of scanning orders. The day rows a transaction
+ * touches are written together just before it commits, after the dashboard figures. Monthly
+ * figures are the per-month revenue, order and unit counts the dashboard already keeps, so
+ * checkout does not update a second monthly row. Cancelled orders are excluded, as in every
+ * other revenue figure. History is rebuilt from the orders table by {@link #backfill}, one
+ * month per transaction.
+ */
+@Service
+public class RevenueRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    private static final long MAX_DAYS = 1096;
+    private static final long MAX_MONTHS = 240;
+    private static final long MAX_BACKFILL_MONTHS = 24;
+    private static final int MAX_ATTEMPTS = 5;
+
+    public enum Granularity {
+        DAY, MONTH;
+
+        public static Granularity of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Granularity must be DAY or MONTH");
+            }
+        }
+    }
+
+    private final DailyRevenueRepository dailyRepository;
+    private final DashboardStatsService dashboardStatsService;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RevenueRollupService(DailyRevenueRepository dailyRepository, DashboardStatsService dashboardStatsService,
+            OrderRepository orderRepository, PlatformTransactionManager transactionManager) {
+        this.dailyRepository = dailyRepository;
+        this.dashboardStatsService = dashboardStatsService;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        if (order.getOrderStatus() != Order.OrderStatus.CANCELLED) {
+            apply(order, 1);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order, Order.OrderStatus previous) {
+        Order.OrderStatus current = order.getOrderStatus();
+        if (current == Order.OrderStatus.CANCELLED && previous != Order.OrderStatus.CANCELLED) {
+            apply(order, -1);
+        } else if (previous == Order.OrderStatus.CANCELLED && current != Order.OrderStatus.CANCELLED) {
+            apply(order, 1);
+        }
+    }
+
+    /**
+     * Revenue per day or month over {@code [from, to]}, with a zero row for periods without
+     * orders. For months, {@code from} and {@code to} may be any day of the first and last month;
+     * monthly figures come from the dashboard mirror, so other instances' orders show up after
+     * its next refresh.
+     */
+    @Transactional(readOnly = true)
+    public List<RevenueRollupDTO> getRevenue(LocalDate from, LocalDate to, Granularity granularity) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("A date range with 'from' on or before 'to' is required");
+        }
+        List<RevenueRollupDTO> result = new ArrayList<>();
+        if (granularity == Granularity.DAY) {
+            if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+                throw new BadRequestException("Daily revenue is limited to " + MAX_DAYS + " days per request");
+            }
+            Map<LocalDate, DailyRevenue> rows = dailyRepository.findByDayBetweenOrderByDay(from, to).stream()
+                    .collect(Collectors.toMap(DailyRevenue::getDay, Function.identity()));
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                DailyRevenue row = rows.get(day);
+                result.add(row == null ? toDTO(day, null, null, null)
+                        : toDTO(day, row.getRevenue(), row.getOrderCount(), row.getUnits()));
+            }
+        } else {
+            LocalDate first = from.withDayOfMonth(1);
+            LocalDate last = to.withDayOfMonth(1);
+            if (ChronoUnit.MONTHS.between(first, last) >= MAX_MONTHS) {
+                throw new BadRequestException("Monthly revenue is limited to " + MAX_MONTHS + " months per request");
+            }
+            for (LocalDate month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                YearMonth yearMonth = YearMonth.from(month);
+                result.add(toDTO(month, dashboardStatsService.getRevenue(yearMonth),
+                        dashboardStatsService.getOrderCount(yearMonth), dashboardStatsService.getUnitsSold(yearMonth)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the daily rollup of every month touching {@code [from, to]} from the orders table.
+     * Either bound may be null, meaning the first order and today; the range may span at most
+     * {@value #MAX_BACKFILL_MONTHS} months. Each month is rebuilt in its own repeatable-read
+     * transaction: orders placed meanwhile wait on the rebuilt rows and are added on top, and a
+     * month whose rows a writer changed under the rebuild fails to commit and is rebuilt again,
+     * so nothing is lost or counted twice.
+     */
+    public RevenueBackfillResponse backfill(LocalDate from, LocalDate to) {
+        if (from == null) {
+            LocalDateTime earliest = orderRepository.findEarliestCreatedAt();
+            from = earliest != null ? earliest.toLocalDate() : LocalDate.now();
+        }
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must be on or before 'to'");
+        }
+        if (ChronoUnit.MONTHS.between(from.withDayOfMonth(1), to.withDayOfMonth(1)) >= MAX_BACKFILL_MONTHS) {
+            throw new BadRequestException("A backfill is limited to " + MAX_BACKFILL_MONTHS + " months");
+        }
+        return rebuild(from.withDayOfMonth(1), to.withDayOfMonth(1).plusMonths(1));
+    }
+
+    /**
+     * Builds the rollups from order history the first time the application starts with them,
+     * {@value #MAX_BACKFILL_MONTHS} months at a time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        LocalDateTime earliest = orderRepository.findEarliestCreatedAt();
+        if (dailyRepository.count() != 0 || earliest == null) {
+            return;
+        }
+        LocalDate end = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+        for (LocalDate first = earliest.toLocalDate().withDayOfMonth(1); first.isBefore(end);
+                first = first.plusMonths(MAX_BACKFILL_MONTHS)) {
+            LocalDate next = first.plusMonths(MAX_BACKFILL_MONTHS);
+            rebuild(first, next.isBefore(end) ? next : end);
+        }
+    }
+
+    private RevenueBackfillResponse rebuild(LocalDate first, LocalDate end) {
+        logger.info("Backfilling revenue rollups from {} to {}", first, end);
+        int months = 0;
+        int days = 0;
+        for (LocalDate month = first; month.isBefore(end); month = month.plusMonths(1)) {
+            days += rebuildMonth(month, month.plusMonths(1));
+            months++;
+        }
+        logger.info("Backfilled revenue rollups: {} months, {} days with orders", months, days);
+        return RevenueBackfillResponse.builder()
+                .from(first)
+                .to(end.minusDays(1))
+                .monthsRebuilt(months)
+                .daysWithOrders(days)
+                .build();
+    }
+
+    private int rebuildMonth(LocalDate start, LocalDate next) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer rows = transactionTemplate.execute(status -> {
+                    dailyRepository.deleteRange(start, next);
+                    return dailyRepository.rebuildFromOrders(start.atStartOfDay(), next.atStartOfDay());
+                });
+                return rows == null ? 0 : rows;
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw ex;
+                }
+                logger.info("Orders changed while rebuilding revenue for {}, retrying", start);
+            }
+        }
+    }
+
+    private void apply(Order order, int sign) {
+        LocalDate day = (order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now()).toLocalDate();
+        BigDecimal amount = order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount();
+        long units = order.getItems().stream().mapToLong(OrderItem::getQuantity).sum();
+        pendingDays().add(day, new DayDelta(sign < 0 ? amount.negate() : amount, sign, sign * units));
+    }
+
+    /**
+     * The day batch of the current transaction, looked up among its synchronizations so a nested
+     * REQUIRES_NEW transaction gets its own
+     */
+    private PendingDays pendingDays() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingDays pending) {
+                return pending;
+            }
+        }
+        PendingDays pending = new PendingDays();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private record DayDelta(BigDecimal revenue, long orders, long units) {
+
+        DayDelta plus(DayDelta other) {
+            return new DayDelta(revenue.add(other.revenue), orders + other.orders, units + other.units);
+        }
+    }
+
+    /**
+     * Day deltas summed over one transaction and written just before it commits, in day order
+     */
+    private final class PendingDays implements TransactionSynchronization {
+
+        private final Map<LocalDate, DayDelta> days = new TreeMap<>();
+
+        void add(LocalDate day, DayDelta delta) {
+            days.merge(day, delta, DayDelta::plus);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            days.forEach((day, delta) -> {
+                if (delta.orders() != 0 || delta.units() != 0 || delta.revenue().signum() != 0) {
+                    dailyRepository.addDelta(day, delta.revenue(), delta.orders(), delta.units());
+                }
+            });
+        }
+    }
+
+    private static RevenueRollupDTO toDTO(LocalDate periodStart, BigDecimal revenue, Long orderCount, Long units) {
+        BigDecimal total = revenue == null ? BigDecimal.ZERO : revenue;
+        long orders = orderCount == null ? 0 : orderCount;
+        return RevenueRollupDTO.builder()
+                .periodStart(periodStart)
+                .revenue(total)
+                .orderCount(orders)
+                .averageOrderValue(orders == 0 ? BigDecimal.ZERO
+                        : total.divide(BigDecimal.valueOf(orders), 2, RoundingMode.HALF_UP))
+                .units(units == null ? 0 : units)
+                .build();
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.event.PaintingChangedEvent;
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.model.StockHold;
+import com.example.talkingCanvas.repository.StockHoldRepository;
+import com.example.talkingCanvas.util.AfterCommit;
+import com.example.talkingCanvas.util.HierarchicalTimingWheel;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for time-limited stock holds placed by carts.
+ * <p>
+ * Adding a painting to a cart holds that quantity for {@code cart.hold.minutes}. Holds live in
+ * memory, with a running total per painting so availability never needs to look at carts, and
+ * expire through a {@link HierarchicalTimingWheel}. The {@code stock_holds} table mirrors them so
+ * they can be rebuilt after a restart.
+ * <p>
+ * Holds change in the caller's (cart) transaction: the in-memory change is made at once, so
+ * concurrent carts already see it, and undone if that transaction rolls back. Cached painting
+ * responses leave out availability, which is added on read from the running totals, so hold
+ * changes never evict caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockHoldService.class);
+
+    private final StockHoldRepository stockHoldRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${cart.hold.minutes:15}")
+    private long holdMinutes;
+
+    private final HierarchicalTimingWheel<HoldKey> wheel =
+            new HierarchicalTimingWheel<>(1000, 64, 3, System.currentTimeMillis());
+    private final Map<HoldKey, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> heldByPainting = new ConcurrentHashMap<>();
+
+    /**
+     * Holds {@code quantity} units of a painting for a user's cart, replacing any earlier hold of
+     * that user on the painting and restarting its timer
+     *
+     * @throws BadRequestException if other carts hold so much that the quantity is not available
+     */
+    public LocalDateTime hold(Long userId, Long paintingId, int quantity, int stockQuantity) {
+        HoldKey key = new HoldKey(userId, paintingId);
+        long expiresAt = System.currentTimeMillis() + holdMinutes * 60_000;
+
+        Hold existing;
+        Hold placed;
+        synchronized (this) {
+            existing = holds.get(key);
+            int heldByOthers = getHeldQuantity(paintingId) - (existing == null ? 0 : existing.quantity());
+            int available = stockQuantity - heldByOthers;
+            if (quantity > available) {
+                throw new BadRequestException(available <= 0
+                        ? "Painting is currently reserved in another cart"
+                        : "Only " + available + " available right now; the rest is reserved in other carts");
+            }
+            if (existing != null) {
+                wheel.cancel(existing.timeout());
+            }
+            placed = new Hold(quantity, expiresAt, wheel.schedule(key, expiresAt));
+            holds.put(key, placed);
+            adjustHeld(paintingId, quantity - (existing == null ? 0 : existing.quantity()));
+        }
+        AfterCommit.onRollback(() -> restore(key, placed, existing));
+
+        LocalDateTime expiry = toLocalDateTime(expiresAt);
+        StockHold row = stockHoldRepository.findByUserIdAndPaintingId(userId, paintingId)
+                .orElseGet(() -> StockHold.builder().userId(userId).paintingId(paintingId).build());
+        row.setQuantity(quantity);
+        row.setExpiresAt(expiry);
+        stockHoldRepository.save(row);
+        return expiry;
+    }
+
+    public void release(Long userId, Long paintingId) {
+        HoldKey key = new HoldKey(userId, paintingId);
+        Hold existing;
+        synchronized (this) {
+            existing = holds.remove(key);
+            if (existing == null) {
+                return;
+            }
+            wheel.cancel(existing.timeout());
+            adjustHeld(paintingId, -existing.quantity());
+        }
+        AfterCommit.onRollback(() -> restore(key, null, existing));
+        stockHoldRepository.deleteHold(userId, paintingId);
+    }
+
+    public void releaseAll(Long userId) {
+        // Holds are few (one per cart line), so filtering them is cheap
+        holds.keySet().stream()
+                .filter(key -> key.userId().equals(userId))
+                .toList()
+                .forEach(key -> release(key.userId(), key.paintingId()));
+    }
+
+    /**
+     * Releases a user's holds in a transaction of its own, for callers whose transaction has
+     * already committed; joining that one would leave the row deletes uncommitted
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseAllInNewTransaction(Long userId) {
+        releaseAll(userId);
+    }
+
+    public int getHeldQuantity(Long paintingId) {
+        return heldByPainting.getOrDefault(paintingId, 0);
+    }
+
+    public int getHeldQuantity(Long paintingId, Long excludingUserId) {
+        Hold own = excludingUserId == null ? null : holds.get(new HoldKey(excludingUserId, paintingId));
+        return getHeldQuantity(paintingId) - (own == null ? 0 : own.quantity());
+    }
+
+    /**
+     * Held quantity of each of the paintings, including those with nothing held
+     */
+    public Map<Long, Integer> getHeldQuantities(Collection<Long> paintingIds) {
+        Map<Long, Integer> held = new HashMap<>();
+        for (Long paintingId : paintingIds) {
+            held.put(paintingId, getHeldQuantity(paintingId));
+        }
+        return held;
+    }
+
+    public int getAvailableQuantity(Long paintingId, int stockQuantity) {
+        return Math.max(0, stockQuantity - getHeldQuantity(paintingId));
+    }
+
+    public LocalDateTime getExpiry(Long userId, Long paintingId) {
+        Hold hold = holds.get(new HoldKey(userId, paintingId));
+        return hold == null ? null : toLocalDateTime(hold.expiresAt());
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        int[] expired = { 0 };
+        wheel.advance(now, key -> {
+            synchronized (this) {
+                Hold hold = holds.get(key);
+                // A renewed hold has a new timeout; only remove the one that actually ran out
+                if (hold == null || hold.expiresAt() > now) {
+                    return;
+                }
+                holds.remove(key);
+                adjustHeld(key.paintingId(), -hold.quantity());
+            }
+            expired[0]++;
+        });
+        if (expired[0] > 0) {
+            stockHoldRepository.deleteExpired(toLocalDateTime(now));
+            logger.debug("Expired {} stock holds", expired[0]);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = stockHoldRepository.deleteExpired(now);
+        List<StockHold> active = stockHoldRepository.findAll();
+        synchronized (this) {
+            for (StockHold row : active) {
+                HoldKey key = new HoldKey(row.getUserId(), row.getPaintingId());
+                long expiresAt = row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                holds.put(key, new Hold(row.getQuantity(), expiresAt, wheel.schedule(key, expiresAt)));
+                adjustHeld(row.getPaintingId(), row.getQuantity());
+            }
+        }
+        logger.info("Restored {} stock holds ({} expired during downtime)", active.size(), removed);
+    }
+
+    /**
+     * Undoes a hold change whose transaction rolled back, unless the key changed again since
+     *
+     * @param applied  hold the change put in place, or null if it removed the hold
+     * @param previous hold the change replaced or removed, or null
+     */
+    private synchronized void restore(HoldKey key, Hold applied, Hold previous) {
+        // Identity, not equality: only the exact hold this change placed is undone
+        if (holds.get(key) != applied) {
+            return;
+        }
+        int delta = 0;
+        if (applied != null) {
+            wheel.cancel(applied.timeout());
+            holds.remove(key);
+            delta -= applied.quantity();
+        }
+        if (previous != null && previous.expiresAt() > System.currentTimeMillis()) {
+            holds.put(key, new Hold(previous.quantity(), previous.expiresAt(),
+                    wheel.schedule(key, previous.expiresAt())));
+            delta += previous.quantity();
+        }
+        adjustHeld(key.paintingId(), delta);
+    }
+
+    /**
+     * Keeps the per-painting total current and tells stream subscribers. Responses read the
+     * total when they are served, so nothing cached needs evicting.
+     */
+    private void adjustHeld(Long paintingId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        Integer after = heldByPainting.merge(paintingId, delta, Integer::sum);
+        if (after <= 0) {
+            heldByPainting.remove(paintingId);
+        }
+
+        eventPublisher.publishEvent(new PaintingChangedEvent(paintingId));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record HoldKey(Long userId, Long paintingId) {
+    }
+
+    private record Hold(int quantity, long expiresAt, HierarchicalTimingWheel.Timeout<HoldKey> timeout) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.exception.UnauthorizedException;
+import com.example.talkingCanvas.model.RefreshToken;
+import com.example.talkingCanvas.model.TokenRevocation;
+import com.example.talkingCanvas.model.User;
+import com.example.talkingCanvas.repository.RefreshTokenRepository;
+import com.example.talkingCanvas.repository.TokenRevocationRepository;
+import com.example.talkingCanvas.repository.UserRepository;
+import com.example.talkingCanvas.security.JwtTokenProvider;
+import com.example.talkingCanvas.security.TokenDenylist;
+import com.example.talkingCanvas.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service issuing access and refresh tokens and revoking them.
+ * <p>
+ * A refresh token is an opaque random value; only its SHA-256 hash is stored. Every refresh
+ * replaces it with a new token of the same family. A replaced token presented again means it was
+ * copied, so the whole family is revoked, except within a short grace period that covers a
+ * client refreshing from two tabs at once.
+ * <p>
+ * Access tokens cannot be recalled, so changes to a user that their claims depend on raise the
+ * user's token version and record a revocation for tokens below it, which {@link TokenDenylist}
+ * applies until those tokens have expired.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+    /** Covers clock skew between instances when deciding how long a revocation must be kept */
+    private static final Duration REVOCATION_MARGIN = Duration.ofMinutes(1);
+
+    public record IssuedTokens(User user, String accessToken, long accessExpiresInMs, String refreshToken,
+            long refreshExpiresInMs) {
+    }
+
+    private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationRepository revocationRepository;
+    private final UserRepository userRepository;
+    private final TokenDenylist denylist;
+    private final Duration refreshLifetime;
+    private final Duration legacyAccessLifetime;
+    private final Duration reuseGrace;
+    private final SecureRandom random = new SecureRandom();
+
+    public TokenService(JwtTokenProvider tokenProvider, RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationRepository revocationRepository, UserRepository userRepository, TokenDenylist denylist,
+            @Value("${jwt.refresh-expiration:2592000000}") long refreshExpirationMs,
+            @Value("${jwt.refresh-reuse-grace-seconds:10}") long reuseGraceSeconds,
+            @Value("${jwt.legacy-expiration:86400000}") long legacyExpirationMs) {
+        this.tokenProvider = tokenProvider;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revocationRepository = revocationRepository;
+        this.userRepository = userRepository;
+        this.denylist = denylist;
+        this.refreshLifetime = Duration.ofMillis(refreshExpirationMs);
+        this.legacyAccessLifetime = Duration.ofMillis(legacyExpirationMs);
+        this.reuseGrace = Duration.ofSeconds(reuseGraceSeconds);
+    }
+
+    /**
+     * Issues an access token and a refresh token starting a new family
+     */
+    @Transactional
+    public IssuedTokens issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a replacement refresh token
+     *
+     * @throws UnauthorizedException if the token is unknown, expired, revoked or already used,
+     *                               or its user is inactive; the user must log in again
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public IssuedTokens refresh(String rawRefreshToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHashForUpdate(hash(rawRefreshToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (stored.getRevokedAt() != null) {
+            if (stored.getRevokedAt().isBefore(now.minus(reuseGrace))) {
+                // Committed despite the exception, so the copy cannot be used either
+                int revoked = refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+                logger.warn("Replaced refresh token reused for user {}; revoked {} tokens of its family",
+                        stored.getUserId(), revoked);
+            }
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            throw new UnauthorizedException("Account is inactive");
+        }
+
+        stored.setRevokedAt(now);
+        refreshTokenRepository.save(stored);
+        return issue(user, stored.getFamilyId());
+    }
+
+    /**
+     * Ends a session: revokes the refresh token's family and, when given and valid, the access
+     * token
+     */
+    @Transactional
+    public void logout(String rawRefreshToken, String accessToken) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.findByTokenHashForUpdate(hash(rawRefreshToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId(), now));
+
+        JwtTokenProvider.AccessToken token = accessToken == null ? null : tokenProvider.verify(accessToken);
+        if (token != null && token.tokenId() != null) {
+            revoke(TokenRevocation.builder()
+                    .kind(TokenRevocation.Kind.TOKEN)
+                    .subject(token.tokenId())
+                    .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(token.expiresAtMillis()),
+                            ZoneId.systemDefault()).plus(REVOCATION_MARGIN))
+                    .build());
+        }
+    }
+
+    /**
+     * Revokes the user's access tokens because something they carry changed (role, status). The
+     * user's refresh tokens stay valid and pick up the change, unless {@code signOut} is set, in
+     * which case every session of the user ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void revokeAccessTokens(User user, boolean signOut) {
+        int version = (user.getTokenVersion() == null ? 0 : user.getTokenVersion()) + 1;
+        user.setTokenVersion(version);
+        userRepository.save(user);
+        if (signOut) {
+            refreshTokenRepository.revokeAllForUser(user.getId(), LocalDateTime.now());
+        }
+        revoke(TokenRevocation.builder()
+                .kind(TokenRevocation.Kind.USER)
+                .subject(Long.toString(user.getId()))
+                .minVersion(version)
+                .expiresAt(LocalDateTime.now().plus(userRevocationLifetime()).plus(REVOCATION_MARGIN))
+                .build());
+    }
+
+    /**
+     * Legacy access tokens, issued before tokens carried claims, lived longer and are only
+     * rejected through the user's revocation, so it is kept until the last of them can expire
+     */
+    private Duration userRevocationLifetime() {
+        Duration accessLifetime = Duration.ofMillis(tokenProvider.getExpirationMs());
+        return accessLifetime.compareTo(legacyAccessLifetime) >= 0 ? accessLifetime : legacyAccessLifetime;
+    }
+
+    /**
+     * Deletes refresh tokens that expired a while ago; kept a day so late reuse is still told apart
+     */
+    @Scheduled(cron = "${jwt.refresh-purge-cron:0 15 4 * * *}")
+    public void purgeExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now().minusDays(1));
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private IssuedTokens issue(User user, String familyId) {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(user.getId())
+                .tokenHash(hash(refreshToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(refreshLifetime))
+                .build());
+        return new IssuedTokens(user, tokenProvider.generateAccessToken(user), tokenProvider.getExpirationMs(),
+                refreshToken, refreshLifetime.toMillis());
+    }
+
+    private void revoke(TokenRevocation revocation) {
+        TokenRevocation saved = revocationRepository.save(revocation);
+        AfterCommit.run(() -> denylist.add(saved));
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.painting.PaintingResponse;
+import com.example.talkingCanvas.exception.ResourceNotFoundException;
+import com.example.talkingCanvas.repository.PaintingRepository;
+import com.example.talkingCanvas.util.MapperUtil;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for trending paintings.
+ * <p>
+ * Views, cart adds, wishlist adds and purchases are kept per painting in a ring buffer of
+ * hourly buckets. Scores use forward decay: an event at time {@code t} adds
+ * {@code weight * 2^((t - landmark) / halfLife)}, so older events weigh exponentially less
+ * while a painting's score only ever grows between rebuilds. That keeps the top-K heap
+ * correct with incremental updates. Once an hour the landmark moves to the current hour,
+ * scores are recomputed from the buckets still inside the window and the heap is rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private final PaintingService paintingService;
+    private final PaintingRepository paintingRepository;
+    private final MapperUtil mapperUtil;
+
+    @Value("${trending.window-hours:48}")
+    private int windowHours;
+
+    @Value("${trending.half-life-hours:6}")
+    private double halfLifeHours;
+
+    @Value("${trending.top-k:50}")
+    private int topK;
+
+    public enum Signal {
+        VIEW(1.0),
+        WISHLIST_ADD(2.0),
+        CART_ADD(3.0),
+        PURCHASE(5.0);
+
+        private final double weight;
+
+        Signal(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final Map<Long, PaintingSignals> signals = new ConcurrentHashMap<>();
+
+    private final Object topLock = new Object();
+    private final PriorityQueue<Scored> topHeap = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+    private final Map<Long, Scored> topMembers = new HashMap<>();
+
+    private volatile long landmarkHour = System.currentTimeMillis() / MILLIS_PER_HOUR;
+
+    public void record(Long paintingId, Signal signal) {
+        record(paintingId, signal, 1);
+    }
+
+    public void record(Long paintingId, Signal signal, int times) {
+        long now = System.currentTimeMillis();
+        double decay = Math.pow(2, ((double) now / MILLIS_PER_HOUR - landmarkHour) / halfLifeHours);
+        double weight = signal.weight * times;
+
+        PaintingSignals paintingSignals = signals.computeIfAbsent(paintingId, id -> new PaintingSignals(windowHours));
+        double score = paintingSignals.add(now / MILLIS_PER_HOUR, weight, weight * decay);
+        offer(paintingId, score);
+    }
+
+    /**
+     * Highest scoring available paintings, topped up with the most viewed ones while there is
+     * too little recent activity (e.g. right after a restart)
+     */
+    @Transactional(readOnly = true)
+    public List<PaintingResponse> getTrendingPaintings(int limit) {
+        int size = Math.max(1, Math.min(limit, topK));
+        List<Long> ranked;
+        synchronized (topLock) {
+            ranked = topHeap.stream()
+                    .sorted(Comparator.comparingDouble(Scored::score).reversed())
+                    .map(Scored::paintingId)
+                    .toList();
+        }
+
+        List<PaintingResponse> trending = new ArrayList<>(size);
+        Set<Long> included = new HashSet<>();
+        for (Long paintingId : ranked) {
+            if (trending.size() == size) {
+                break;
+            }
+            try {
+                PaintingResponse painting = paintingService.getPaintingById(paintingId);
+                if (Boolean.TRUE.equals(painting.getIsAvailable())) {
+                    trending.add(painting);
+                    included.add(paintingId);
+                }
+            } catch (ResourceNotFoundException ex) {
+                logger.debug("Trending painting {} no longer exists", paintingId);
+            }
+        }
+
+        if (trending.size() < size) {
+            paintingRepository.findMostViewedPaintings(PageRequest.of(0, size)).stream()
+                    .filter(painting -> !included.contains(painting.getId()))
+                    .limit(size - trending.size())
+                    .map(mapperUtil::toPaintingResponse)
+                    .forEach(trending::add);
+        }
+        return trending;
+    }
+
+    /**
+     * Moves the decay landmark to the current hour, drops buckets that left the window and
+     * rebuilds the top-K heap from the rescored paintings
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void rebuild() {
+        long hour = System.currentTimeMillis() / MILLIS_PER_HOUR;
+        landmarkHour = hour;
+
+        PriorityQueue<Scored> heap = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+        for (Long paintingId : signals.keySet()) {
+            // computeIfPresent is atomic with computeIfAbsent in record(), so no event is lost
+            // when an idle painting is dropped
+            PaintingSignals rescored = signals.computeIfPresent(paintingId,
+                    (id, paintingSignals) -> paintingSignals.rescore(hour, halfLifeHours) > 0 ? paintingSignals : null);
+            if (rescored != null) {
+                heap.add(new Scored(paintingId, rescored.score()));
+                if (heap.size() > topK) {
+                    heap.poll();
+                }
+            }
+        }
+
+        synchronized (topLock) {
+            topHeap.clear();
+            topMembers.clear();
+            heap.forEach(entry -> {
+                topHeap.add(entry);
+                topMembers.put(entry.paintingId(), entry);
+            });
+        }
+        logger.debug("Trending rebuilt: {} paintings tracked, {} in top {}", signals.size(), heap.size(), topK);
+    }
+
+    private void offer(Long paintingId, double score) {
+        synchronized (topLock) {
+            Scored current = topMembers.get(paintingId);
+            if (current != null) {
+                topHeap.remove(current);
+            } else if (topHeap.size() >= topK && score <= topHeap.peek().score()) {
+                return;
+            }
+            Scored entry = new Scored(paintingId, score);
+            topHeap.add(entry);
+            topMembers.put(paintingId, entry);
+            if (topHeap.size() > topK) {
+                topMembers.remove(topHeap.poll().paintingId());
+            }
+        }
+    }
+
+    private record Scored(Long paintingId, double score) {
+    }
+
+    /**
+     * Hourly buckets of raw signal weight for one painting, indexed by hour modulo the window
+     */
+    private static final class PaintingSignals {
+
+        private final double[] buckets;
+        private final long[] bucketHours;
+        private double score;
+
+        PaintingSignals(int windowHours) {
+            this.buckets = new double[windowHours];
+            this.bucketHours = new long[windowHours];
+        }
+
+        synchronized double add(long hour, double weight, double decayedWeight) {
+            int index = (int) (hour % buckets.length);
+            if (bucketHours[index] != hour) {
+                bucketHours[index] = hour;
+                buckets[index] = 0;
+            }
+            buckets[index] += weight;
+            score += decayedWeight;
+            return score;
+        }
+
+        synchronized double rescore(long landmarkHour, double halfLifeHours) {
+            score = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] > 0 && bucketHours[i] > landmarkHour - buckets.length) {
+                    score += buckets[i] * Math.pow(2, (bucketHours[i] + 0.5 - landmarkHour) / halfLifeHours);
+                }
+            }
+            return score;
+        }
+
+        synchronized double score() {
+            return score;
+        }
+    }
+}
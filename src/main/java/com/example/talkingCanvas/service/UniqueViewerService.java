@@ -0,0 +1,230 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.admin.UniqueViewerCountDTO;
+import com.example.talkingCanvas.dto.admin.UniqueViewersDTO;
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.model.PaintingViewerSketch;
+import com.example.talkingCanvas.model.PaintingViewerSketch.PeriodType;
+import com.example.talkingCanvas.repository.PaintingViewerSketchRepository;
+import com.example.talkingCanvas.util.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for estimating distinct viewers per painting with HyperLogLog sketches.
+ * <p>
+ * Each instance keeps one 4 KB sketch per painting for the current day and month. Sketches are
+ * periodically merged into {@code painting_viewer_sketches} (register-wise max under an optimistic
+ * lock), which makes the stored sketch the union of every instance's viewers.
+ */
+@Service
+@RequiredArgsConstructor
+public class UniqueViewerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueViewerService.class);
+
+    private static final int MAX_MERGE_ATTEMPTS = 3;
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_MONTHS = 36;
+    private static final String[] CRAWLER_MARKERS = { "bot", "crawler", "spider", "slurp", "facebookexternalhit" };
+
+    private final PaintingViewerSketchRepository sketchRepository;
+
+    private final Map<SketchKey, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final Set<SketchKey> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Records a viewer identified by user id when logged in, otherwise by client address and
+     * user agent. Known crawlers are ignored.
+     */
+    public void recordViewer(Long paintingId, Long userId, String clientAddress, String userAgent) {
+        if (userId == null && isCrawler(userAgent)) {
+            return;
+        }
+        String fingerprint = userId != null ? "u:" + userId : "a:" + clientAddress + "|" + userAgent;
+        long hash = HyperLogLog.hash(fingerprint);
+
+        LocalDate today = LocalDate.now();
+        add(new SketchKey(paintingId, PeriodType.DAY, today), hash);
+        add(new SketchKey(paintingId, PeriodType.MONTH, today.withDayOfMonth(1)), hash);
+    }
+
+    public long getUniqueViewers(Long paintingId, PeriodType periodType, LocalDate periodStart) {
+        SketchKey key = new SketchKey(paintingId, periodType, periodStart);
+        HyperLogLog sketch = sketchRepository.findByPaintingIdAndPeriodTypeAndPeriodStart(paintingId, periodType, periodStart)
+                .map(row -> HyperLogLog.fromBytes(row.getRegisters()))
+                .orElseGet(HyperLogLog::new);
+        HyperLogLog local = sketches.get(key);
+        if (local != null) {
+            sketch.merge(local);
+        }
+        return sketch.estimate();
+    }
+
+    /**
+     * Unique viewers of several paintings in one period, read with a single query
+     */
+    public Map<Long, Long> getUniqueViewers(Collection<Long> paintingIds, PeriodType periodType, LocalDate periodStart) {
+        Map<Long, HyperLogLog> merged = new HashMap<>();
+        if (!paintingIds.isEmpty()) {
+            for (PaintingViewerSketch row : sketchRepository.findByPeriodTypeAndPeriodStartAndPaintingIdIn(periodType,
+                    periodStart, paintingIds)) {
+                merged.put(row.getPaintingId(), HyperLogLog.fromBytes(row.getRegisters()));
+            }
+        }
+        Map<Long, Long> estimates = new HashMap<>();
+        for (Long paintingId : paintingIds) {
+            HyperLogLog sketch = merged.computeIfAbsent(paintingId, id -> new HyperLogLog());
+            HyperLogLog local = sketches.get(new SketchKey(paintingId, periodType, periodStart));
+            if (local != null) {
+                sketch.merge(local);
+            }
+            estimates.put(paintingId, sketch.estimate());
+        }
+        return estimates;
+    }
+
+    public UniqueViewersDTO getUniqueViewers(Long paintingId, int days, int months) {
+        logger.info("Fetching unique viewers for painting {} - days: {}, months: {}", paintingId, days, months);
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadRequestException("days must be between 1 and " + MAX_DAYS);
+        }
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new BadRequestException("months must be between 1 and " + MAX_MONTHS);
+        }
+        LocalDate today = LocalDate.now();
+        return UniqueViewersDTO.builder()
+                .paintingId(paintingId)
+                .daily(getSeries(paintingId, PeriodType.DAY, today.minusDays(days - 1L)))
+                .monthly(getSeries(paintingId, PeriodType.MONTH, today.withDayOfMonth(1).minusMonths(months - 1L)))
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${painting.viewers.flush-interval-ms:300000}")
+    public synchronized void flush() {
+        int merged = 0;
+        for (SketchKey key : new ArrayList<>(dirty)) {
+            // Removed before merging: a viewer added meanwhile marks the key dirty again
+            dirty.remove(key);
+            HyperLogLog local = sketches.get(key);
+            if (local == null) {
+                continue;
+            }
+            try {
+                mergeIntoStore(key, local);
+                merged++;
+            } catch (RuntimeException ex) {
+                dirty.add(key);
+                logger.warn("Failed to persist viewer sketch {}: {}", key, ex.getMessage());
+            }
+        }
+
+        // Sketches of finished days and months are complete in the store
+        LocalDate today = LocalDate.now();
+        sketches.keySet().removeIf(key -> !key.isCurrent(today) && !dirty.contains(key));
+        if (merged > 0) {
+            logger.debug("Persisted {} viewer sketches", merged);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Persisting viewer sketches before shutdown");
+        flush();
+    }
+
+    private void add(SketchKey key, long hash) {
+        if (sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(hash)) {
+            dirty.add(key);
+        }
+    }
+
+    private void mergeIntoStore(SketchKey key, HyperLogLog local) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                PaintingViewerSketch row = sketchRepository
+                        .findByPaintingIdAndPeriodTypeAndPeriodStart(key.paintingId(), key.periodType(), key.periodStart())
+                        .orElseGet(() -> PaintingViewerSketch.builder()
+                                .paintingId(key.paintingId())
+                                .periodType(key.periodType())
+                                .periodStart(key.periodStart())
+                                .build());
+                HyperLogLog stored = row.getRegisters() == null ? new HyperLogLog()
+                        : HyperLogLog.fromBytes(row.getRegisters());
+                stored.merge(local);
+                row.setRegisters(stored.toBytes());
+                sketchRepository.save(row);
+                // Pull in what other instances stored so local estimates cover them too
+                local.merge(stored);
+                return;
+            } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException ex) {
+                // Another instance merged (or inserted) the same period first; merge again on top of it
+                if (attempt == MAX_MERGE_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private List<UniqueViewerCountDTO> getSeries(Long paintingId, PeriodType periodType, LocalDate from) {
+        List<UniqueViewerCountDTO> series = new ArrayList<>();
+        Set<LocalDate> stored = new HashSet<>();
+        for (PaintingViewerSketch row : sketchRepository
+                .findByPaintingIdAndPeriodTypeAndPeriodStartGreaterThanEqualOrderByPeriodStartAsc(paintingId, periodType, from)) {
+            HyperLogLog sketch = HyperLogLog.fromBytes(row.getRegisters());
+            HyperLogLog local = sketches.get(new SketchKey(paintingId, periodType, row.getPeriodStart()));
+            if (local != null) {
+                sketch.merge(local);
+            }
+            stored.add(row.getPeriodStart());
+            series.add(new UniqueViewerCountDTO(row.getPeriodStart(), sketch.estimate()));
+        }
+        // Current period may not have been flushed yet
+        sketches.forEach((key, local) -> {
+            if (key.paintingId().equals(paintingId) && key.periodType() == periodType
+                    && !key.periodStart().isBefore(from) && !stored.contains(key.periodStart())) {
+                series.add(new UniqueViewerCountDTO(key.periodStart(), local.estimate()));
+            }
+        });
+        return series;
+    }
+
+    private static boolean isCrawler(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return true;
+        }
+        String agent = userAgent.toLowerCase(Locale.ROOT);
+        for (String marker : CRAWLER_MARKERS) {
+            if (agent.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record SketchKey(Long paintingId, PeriodType periodType, LocalDate periodStart) {
+
+        boolean isCurrent(LocalDate today) {
+            return periodType == PeriodType.DAY
+                    ? periodStart.equals(today)
+                    : periodStart.equals(today.withDayOfMonth(1));
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.example.talkingCanvas.model.Address;
 import com.example.talkingCanvas.model.User;
 import com.example.talkingCanvas.repository.OrderRepository;
 import com.example.talkingCanvas.repository.UserRepository;
+import com.example.talkingCanvas.security.PrincipalCache;
 import com.example.talkingCanvas.util.MapperUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -40,6 +41,8 @@ public class UserService {
     private final OrderRepository orderRepository;
     private final PasswordEncoder passwordEncoder;
     private final MapperUtil mapperUtil;
+    private final PrincipalCache principalCache;
+    private final TokenService tokenService;
 
     public UserProfileResponse getUserProfile(Long userId) {
         logger.info("Fetching profile for user: {}", userId);
@@ -63,6 +66,8 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        // The principal carries the name
+        principalCache.evict(userId);
         logger.info("Profile updated successfully for user: {}", userId);
         return mapperUtil.toUserProfileResponse(updatedUser);
     }
@@ -81,6 +86,8 @@ public class UserService {
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        // Signs out every session, as a password change after a compromise should
+        tokenService.revokeAccessTokens(user, true);
         logger.info("Password changed successfully for user: {}", userId);
     }
 
@@ -0,0 +1,75 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.repository.PaintingRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service for painting view counting. Views are accumulated in memory per painting and
+ * written behind in one batched UPDATE, so reading a painting never takes a row lock.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCountService.class);
+
+    private final PaintingRepository paintingRepository;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    public void recordView(Long paintingId) {
+        pendingViews.computeIfAbsent(paintingId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Views recorded since the last flush
+     */
+    public long getPendingViews(Long paintingId) {
+        LongAdder adder = pendingViews.get(paintingId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${painting.views.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        List<Long> ids = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        pendingViews.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                ids.add(id);
+                deltas.add(delta);
+            }
+        });
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            int updated = paintingRepository.addViewCounts(ids.toArray(Long[]::new), deltas.toArray(Long[]::new));
+            logger.debug("Flushed view counts of {} paintings ({} rows updated)", ids.size(), updated);
+        } catch (RuntimeException ex) {
+            // Put the deltas back so the next flush retries them
+            for (int i = 0; i < ids.size(); i++) {
+                pendingViews.computeIfAbsent(ids.get(i), id -> new LongAdder()).add(deltas.get(i));
+            }
+            logger.warn("Failed to flush view counts of {} paintings: {}", ids.size(), ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Flushing pending view counts before shutdown");
+        flush();
+    }
+}
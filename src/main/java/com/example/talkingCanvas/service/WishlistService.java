@@ -16,6 +16,8 @@ import com.example.talkingCanvas.util.MapperUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,9 +36,11 @@ public class WishlistService {
     private final WishlistItemRepository wishlistItemRepository;
     private final PaintingRepository paintingRepository;
     private final UserRepository userRepository;
+    private final TrendingService trendingService;
     private final MapperUtil mapperUtil;
 
     @Transactional(readOnly = true)
+    @Cacheable(value = "user-wishlist", key = "#userId")
     public WishlistResponse getWishlist(Long userId) {
         logger.info("Fetching wishlist for user: {}", userId);
         Wishlist wishlist = getOrCreateWishlist(userId);
@@ -44,6 +48,7 @@ public class WishlistService {
     }
 
     @Transactional
+    @CacheEvict(value = "user-wishlist", key = "#userId")
     public WishlistResponse addToWishlist(Long userId, AddToWishlistRequest request) {
         logger.info("Adding painting {} to wishlist for user: {}", request.getPaintingId(), userId);
 
@@ -68,11 +73,13 @@ public class WishlistService {
         wishlist.addItem(newItem);
 
         Wishlist updatedWishlist = wishlistRepository.save(wishlist);
+        trendingService.record(painting.getId(), TrendingService.Signal.WISHLIST_ADD);
         logger.info("Painting {} added to wishlist for user: {}", request.getPaintingId(), userId);
         return mapperUtil.toWishlistResponse(updatedWishlist);
     }
 
     @Transactional
+    @CacheEvict(value = "user-wishlist", key = "#userId")
     public WishlistResponse removeFromWishlist(Long userId, Long itemId) {
         logger.info("Removing wishlist item: {} for user: {}", itemId, userId);
 
@@ -105,6 +112,7 @@ public class WishlistService {
     }
 
     @Transactional
+    @CacheEvict(value = "user-wishlist", key = "#userId")
     public void clearWishlist(Long userId) {
         logger.info("Clearing wishlist for user: {}", userId);
         Wishlist wishlist = getOrCreateWishlist(userId);
@@ -0,0 +1,66 @@
+package com.example.talkingCanvas.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} never returns false for a key that
+ * was added; it returns true for a key that was not with roughly the false-positive rate the
+ * filter was sized for, as long as no more keys than expected are added. Keys cannot be removed,
+ * so holders rebuild the filter to drop them.
+ * <p>
+ * Bits are set atomically, so adding and querying concurrently is safe without locking.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedKeys keys the filter is sized for
+     * @param falsePositiveRate target false-positive rate at that many keys, between 0 and 1
+     */
+    public BloomFilter(int expectedKeys, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        int keys = Math.max(1, expectedKeys);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / keys * Math.log(2)));
+        this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    public void add(String key) {
+        long hash = HyperLogLog.hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            words.accumulateAndGet(bit >>> 6, mask, (word, m) -> word | m);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = HyperLogLog.hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getBitCount() {
+        return bitCount;
+    }
+
+    private int index(int combinedHash) {
+        // Double hashing (Kirsch-Mitzenmacher): k probes from two halves of one 64-bit hash
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.talkingCanvas.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -67,8 +68,10 @@ public class EmailService {
             ));
             mailSender.send(message);
             logger.info("Order confirmation email sent to: {}", toEmail);
-        } catch (Exception e) {
+        } catch (MailException e) {
+            // Rethrown so the outbox dispatcher retries the email
             logger.error("Failed to send order confirmation email to: {}", toEmail, e);
+            throw e;
         }
     }
 
@@ -0,0 +1,151 @@
+package com.example.talkingCanvas.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for many timeouts with coarse (tick sized) precision.
+ * <p>
+ * Level {@code L} has {@code wheelSize} slots of {@code wheelSize^L} ticks each. A timeout is
+ * placed on the lowest level whose span covers its remaining delay and cascades one level down
+ * whenever the clock reaches the start of its slot. Scheduling and cancelling are O(1); advancing
+ * touches only the slots whose time has come, never the whole set of timeouts.
+ * <p>
+ * Not driven by its own thread: the owner calls {@link #advance} periodically.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] slotTicks;
+    private final List<List<Set<Timeout<T>>>> levels;
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.slotTicks = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+        long ticks = 1;
+        for (int level = 0; level < levelCount; level++) {
+            slotTicks[level] = ticks;
+            List<Set<Timeout<T>>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new HashSet<>());
+            }
+            levels.add(slots);
+            ticks *= wheelSize;
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} to expire at {@code deadlineMillis}. Deadlines already passed expire
+     * on the next {@link #advance}.
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(item, Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.slot == null) {
+            return false;
+        }
+        timeout.slot.remove(timeout);
+        timeout.slot = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMillis}, handing every expired item to {@code expired}
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        List<T> due = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                // Cascade from the highest level whose slot boundary was crossed
+                for (int level = slotTicks.length - 1; level > 0; level--) {
+                    if (currentTick % slotTicks[level] == 0) {
+                        List<Timeout<T>> moving = drain(levels.get(level).get(slotIndex(level, currentTick)));
+                        moving.forEach(this::place);
+                    }
+                }
+                for (Timeout<T> timeout : drain(levels.get(0).get(slotIndex(0, currentTick)))) {
+                    if (timeout.deadlineTick <= currentTick) {
+                        size--;
+                        due.add(timeout.item);
+                    } else {
+                        place(timeout);
+                    }
+                }
+            }
+        }
+        // Callbacks run outside the lock so they may schedule or cancel
+        due.forEach(expired);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timeout<T> timeout) {
+        // A deadline equal to the current tick lands in the level 0 slot that advance() drains next
+        long target = Math.max(timeout.deadlineTick, currentTick);
+        long delay = target - currentTick;
+        int level = 0;
+        while (level < slotTicks.length - 1 && delay >= slotTicks[level + 1]) {
+            level++;
+        }
+        Set<Timeout<T>> slot = levels.get(level).get(slotIndex(level, target));
+        slot.add(timeout);
+        timeout.slot = slot;
+    }
+
+    private int slotIndex(int level, long tick) {
+        return (int) ((tick / slotTicks[level]) % wheelSize);
+    }
+
+    private List<Timeout<T>> drain(Set<Timeout<T>> slot) {
+        List<Timeout<T>> drained = new ArrayList<>(slot);
+        slot.clear();
+        drained.forEach(timeout -> timeout.slot = null);
+        return drained;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Handle of a scheduled item, used to cancel it
+     */
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private Set<Timeout<T>> slot;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
@@ -2,15 +2,19 @@ package com.example.talkingCanvas.util;
 
 import com.example.talkingCanvas.dto.cart.CartItemDTO;
 import com.example.talkingCanvas.dto.cart.CartResponse;
+import com.example.talkingCanvas.dto.common.PageResponse;
 import com.example.talkingCanvas.dto.order.AdminContactDTO;
 import com.example.talkingCanvas.dto.order.OrderItemDTO;
 import com.example.talkingCanvas.dto.order.OrderResponse;
+import com.example.talkingCanvas.dto.order.OrderSummaryDTO;
 import com.example.talkingCanvas.dto.painting.*;
 import com.example.talkingCanvas.dto.user.AddressDTO;
 import com.example.talkingCanvas.dto.user.UserProfileResponse;
 import com.example.talkingCanvas.dto.wishlist.WishlistItemResponse;
 import com.example.talkingCanvas.dto.wishlist.WishlistResponse;
 import com.example.talkingCanvas.model.*;
+import com.example.talkingCanvas.service.StockHoldService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -22,8 +26,11 @@ import java.util.stream.Collectors;
  * Utility class for mapping between entities and DTOs
  */
 @Component
+@RequiredArgsConstructor
 public class MapperUtil {
 
+        private final StockHoldService stockHoldService;
+
         // User Mapping
         public UserProfileResponse toUserProfileResponse(User user) {
                 return UserProfileResponse.builder()
@@ -55,6 +62,11 @@ public class MapperUtil {
         }
 
         // Painting Mapping
+
+        /**
+         * Maps a painting without its hold-dependent fields ({@code availableQuantity},
+         * {@code onHold}), so the result can be cached; {@link #withAvailability} adds them on read
+         */
         public PaintingResponse toPaintingResponse(Painting painting) {
                 return PaintingResponse.builder()
                                 .id(painting.getId())
@@ -92,6 +104,44 @@ public class MapperUtil {
                                 .build();
         }
 
+        /**
+         * Copy of the painting with availability computed from the current cart holds. Cached
+         * responses are shared, so they are never modified.
+         */
+        public PaintingResponse withAvailability(PaintingResponse painting) {
+                if (painting == null) {
+                        return null;
+                }
+                int held = stockHoldService.getHeldQuantity(painting.getId());
+                int stock = painting.getStockQuantity() == null ? 0 : painting.getStockQuantity();
+                return painting.toBuilder()
+                                .availableQuantity(Math.max(0, stock - held))
+                                .onHold(held > 0)
+                                .build();
+        }
+
+        public List<PaintingResponse> withAvailability(List<PaintingResponse> paintings) {
+                return paintings.stream()
+                                .map(this::withAvailability)
+                                .collect(Collectors.toList());
+        }
+
+        public PageResponse<PaintingResponse> withAvailability(PageResponse<PaintingResponse> page) {
+                return page.toBuilder()
+                                .content(withAvailability(page.getContent()))
+                                .build();
+        }
+
+        public WishlistResponse withAvailability(WishlistResponse wishlist) {
+                return wishlist.toBuilder()
+                                .items(wishlist.getItems().stream()
+                                                .map(item -> item.toBuilder()
+                                                                .painting(withAvailability(item.getPainting()))
+                                                                .build())
+                                                .collect(Collectors.toList()))
+                                .build();
+        }
+
         public PaintingImageDTO toPaintingImageDTO(PaintingImage image) {
                 String url = ServletUriComponentsBuilder.fromCurrentContextPath()
                                 .path("/api/images/")
@@ -183,6 +233,8 @@ public class MapperUtil {
                                 .subtotal(subtotal)
                                 .isAvailable(painting.getIsAvailable())
                                 .stockQuantity(painting.getStockQuantity())
+                                .holdExpiresAt(stockHoldService.getExpiry(item.getCart().getUser().getId(),
+                                                painting.getId()))
                                 .build();
         }
 
@@ -208,6 +260,23 @@ public class MapperUtil {
                                 .build();
         }
 
+        public OrderSummaryDTO toOrderSummaryDTO(Order order, List<OrderItemDTO> items) {
+                return OrderSummaryDTO.builder()
+                                .id(order.getId())
+                                .orderNumber(order.getOrderNumber())
+                                .items(items)
+                                .totalAmount(order.getTotalAmount())
+                                .currency(order.getCurrency())
+                                .deliveryAddress(toAddressDTO(order.getDeliveryAddress()))
+                                .orderStatus(order.getOrderStatus().name())
+                                .paymentMethod(order.getPaymentMethod())
+                                .trackingInfo(order.getTrackingInfo())
+                                .notes(order.getNotes())
+                                .createdAt(order.getCreatedAt())
+                                .updatedAt(order.getUpdatedAt())
+                                .build();
+        }
+
         public OrderItemDTO toOrderItemDTO(OrderItem item) {
                 BigDecimal subtotal = item.getPriceAtPurchase().multiply(BigDecimal.valueOf(item.getQuantity()));
 
@@ -0,0 +1,151 @@
+package com.example.talkingCanvas.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style order number generator.
+ * <p>
+ * An id packs 41 bits of milliseconds since 2024-01-01, a 10 bit node id and a 12 bit
+ * per-millisecond sequence. Timestamp and sequence share one {@link AtomicLong}, so ids are
+ * taken with a single CAS and no lock. If the clock moves backwards the generator keeps counting
+ * from the last timestamp it issued instead of waiting or failing; a sequence overflow likewise
+ * borrows the next millisecond. Either way ids stay unique and increasing on a node.
+ * <p>
+ * Ids are rendered as {@code TC} followed by 13 Crockford base32 characters, which sort in
+ * issue order and avoid the easily confused letters I, L, O and U.
+ */
+@Component
+public class OrderNumberGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderNumberGenerator.class);
+
+    public static final String PREFIX = "TC";
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int CODE_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long SKEW_WARNING_MILLIS = 1000;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    /** Last issued timestamp (high bits) and sequence (low {@link #SEQUENCE_BITS} bits) */
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public OrderNumberGenerator(@Value("${order.number.node-id:-1}") long nodeId) {
+        this(nodeId < 0 ? deriveNodeId() : nodeId, System::currentTimeMillis);
+        logger.info("Order numbers are generated with node id {}", this.nodeId);
+    }
+
+    public OrderNumberGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public String nextOrderNumber() {
+        return format(nextId());
+    }
+
+    public long nextId() {
+        while (true) {
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long previous = state.get();
+            long previousMillis = previous >>> SEQUENCE_BITS;
+            long next;
+            if (now > previousMillis) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // Same millisecond, or the clock went back: continue after the last issued id.
+                // Overflowing the sequence carries into the timestamp bits.
+                next = previous + 1;
+                if (previousMillis - now > SKEW_WARNING_MILLIS && (next & SEQUENCE_MASK) == 0) {
+                    logger.warn("Clock is {} ms behind the last issued order number", previousMillis - now);
+                }
+            }
+            if (state.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static String format(long id) {
+        char[] code = new char[PREFIX.length() + CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+        for (int i = code.length - 1; i >= PREFIX.length(); i--) {
+            code[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(code);
+    }
+
+    /**
+     * Reverses {@link #format}, accepting lower case and the usual Crockford substitutions
+     */
+    public static long parse(String orderNumber) {
+        if (orderNumber == null || orderNumber.length() != PREFIX.length() + CODE_LENGTH
+                || !orderNumber.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            throw new IllegalArgumentException("Not a generated order number: " + orderNumber);
+        }
+        long id = 0;
+        for (int i = PREFIX.length(); i < orderNumber.length(); i++) {
+            id = (id << 5) | decode(orderNumber.charAt(i));
+        }
+        return id;
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    private static int decode(char c) {
+        char upper = Character.toUpperCase(c);
+        switch (upper) {
+            case 'O':
+                return 0;
+            case 'I':
+            case 'L':
+                return 1;
+            default:
+                for (int value = 0; value < ALPHABET.length; value++) {
+                    if (ALPHABET[value] == upper) {
+                        return value;
+                    }
+                }
+                throw new IllegalArgumentException("Invalid order number character: " + c);
+        }
+    }
+
+    private static long deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = String.valueOf(ProcessHandle.current().pid());
+        }
+        return (host.hashCode() & 0x7fffffffL) % (MAX_NODE_ID + 1);
+    }
+}
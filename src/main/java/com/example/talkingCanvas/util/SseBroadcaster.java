@@ -0,0 +1,172 @@
+package com.example.talkingCanvas.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Fans events out to Server-Sent Events subscribers.
+ * <p>
+ * Emitters use async servlet support, so an idle subscriber holds no request thread. Each
+ * subscriber has its own bounded queue drained on a virtual thread: events reach a subscriber in
+ * order, a slow one never delays the others, and one that falls {@code maxQueuedEvents} behind is
+ * disconnected (clients reconnect and refetch).
+ */
+public class SseBroadcaster<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseBroadcaster.class);
+
+    private final String name;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+    private final int maxQueuedEvents;
+
+    private final Set<Subscriber<T>> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SseBroadcaster(String name, long timeoutMillis, int maxSubscribers, int maxQueuedEvents) {
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+
+    /**
+     * Registers a subscriber receiving the events accepted by {@code filter}, or returns empty
+     * when the subscriber limit is reached
+     */
+    public Optional<SseEmitter> subscribe(Predicate<T> filter) {
+        return subscribe(filter, null, null);
+    }
+
+    /**
+     * Like {@link #subscribe(Predicate)}, sending {@code initial} to the new subscriber first as
+     * an event named {@code eventName}, ahead of anything published afterwards
+     */
+    public Optional<SseEmitter> subscribe(Predicate<T> filter, String eventName, T initial) {
+        if (subscribers.size() >= maxSubscribers) {
+            logger.warn("Rejecting {} subscriber: limit of {} reached", name, maxSubscribers);
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber<T> subscriber = new Subscriber<>(emitter, filter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Flushes the response headers so the client sees the stream open immediately
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+        if (initial != null) {
+            enqueue(subscriber, event(eventName, initial));
+        }
+        return Optional.of(emitter);
+    }
+
+    public void publish(String eventName, T data) {
+        String id = Long.toString(sequence.incrementAndGet());
+        for (Subscriber<T> subscriber : subscribers) {
+            if (subscriber.filter.test(data)) {
+                // Builders are not shareable between concurrently draining subscribers
+                enqueue(subscriber, SseEmitter.event()
+                        .id(id)
+                        .name(eventName)
+                        .data(data, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, keeping proxies from closing idle streams and
+     * detecting disconnected clients
+     */
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("keepalive")));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        executor.shutdown();
+    }
+
+    private SseEmitter.SseEventBuilder event(String eventName, T data) {
+        return SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(eventName)
+                .data(data, MediaType.APPLICATION_JSON);
+    }
+
+    private void enqueue(Subscriber<T> subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.queued.incrementAndGet() > maxQueuedEvents) {
+            logger.debug("Disconnecting slow {} subscriber", name);
+            disconnect(subscriber);
+            return;
+        }
+        subscriber.queue.add(event);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber<T> subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.queued.decrementAndGet();
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    disconnect(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared would be stranded
+            if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void disconnect(Subscriber<T> subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static final class Subscriber<T> {
+
+        private final SseEmitter emitter;
+        private final Predicate<T> filter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Predicate<T> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+    }
+}
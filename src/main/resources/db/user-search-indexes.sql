@@ -0,0 +1,18 @@
+-- Trigram indexes for the admin user search (GET /api/admin/users/search)
+-- The search filters with lower(column) LIKE '%term%', which a B-tree cannot serve; these GIN
+-- indexes on the same expressions can. Terms shorter than 3 characters still fall back to a scan.
+-- Run once per database; CONCURRENTLY avoids locking users against writes while building.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_name_trgm
+    ON users USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_email_trgm
+    ON users USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_contact_number_trgm
+    ON users USING gin (lower(contact_number) gin_trgm_ops);
+
+-- Verify
+SELECT indexname FROM pg_indexes WHERE tablename = 'users' AND indexname LIKE '%_trgm';
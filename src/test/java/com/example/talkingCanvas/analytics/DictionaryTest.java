@@ -0,0 +1,64 @@
+package com.example.talkingCanvas.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DictionaryTest {
+
+    @Test
+    void codesAreDenseAndStable() {
+        Dictionary dictionary = new Dictionary();
+
+        assertEquals(0, dictionary.encode("Oil"));
+        assertEquals(1, dictionary.encode("Acrylic"));
+        assertEquals(0, dictionary.encode("Oil"));
+        assertEquals(2, dictionary.encode("Watercolor"));
+
+        assertEquals(3, dictionary.size());
+        assertEquals("Acrylic", dictionary.decode(1));
+        assertEquals(2, dictionary.code("Watercolor"));
+        assertEquals(OrderFactStore.NONE, dictionary.code("Charcoal"));
+    }
+
+    @Test
+    void growsPastManyValues() {
+        Dictionary dictionary = new Dictionary();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, dictionary.encode("value-" + i));
+        }
+
+        assertEquals(10_000, dictionary.size());
+        for (int i = 0; i < 10_000; i += 997) {
+            assertEquals("value-" + i, dictionary.decode(dictionary.code("value-" + i)));
+        }
+    }
+
+    @Test
+    void readersCanDecodeEveryCodeTheyFind() throws Exception {
+        Dictionary dictionary = new Dictionary();
+        AtomicBoolean failed = new AtomicBoolean();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                dictionary.encode("value-" + i);
+            }
+        });
+
+        while (!writer.isDone()) {
+            for (int i = 0; i < 20_000; i += 101) {
+                int code = dictionary.code("value-" + i);
+                if (code != OrderFactStore.NONE && !("value-" + i).equals(dictionary.decode(code))) {
+                    failed.set(true);
+                }
+            }
+        }
+        writer.get();
+
+        assertFalse(failed.get());
+        assertEquals(20_000, dictionary.size());
+    }
+}
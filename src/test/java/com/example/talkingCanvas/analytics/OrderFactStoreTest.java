@@ -0,0 +1,101 @@
+package com.example.talkingCanvas.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderFactStoreTest {
+
+    private static final OrderFactStore.Query BY_MEDIUM = query(OrderFactStore.Dimension.MEDIUM, false);
+
+    @Test
+    void appendsEachOrderOnce() {
+        OrderFactStore store = new OrderFactStore();
+
+        assertTrue(store.appendOrder(1, 1_000, DayOfWeek.MONDAY, false,
+                new long[] { 10, 11 }, new int[] { 1, 2 }, new long[] { 500_00, 250_00 }));
+        assertFalse(store.appendOrder(1, 1_000, DayOfWeek.MONDAY, false,
+                new long[] { 10 }, new int[] { 5 }, new long[] { 1 }));
+
+        assertEquals(2, store.size());
+        assertTrue(store.containsOrder(1));
+        assertTrue(store.containsPainting(11));
+        List<OrderFactStore.Group> groups = store.query(BY_MEDIUM);
+        assertEquals(List.of(new OrderFactStore.Group("Unknown", 1_000_00, 3, 2)), groups);
+    }
+
+    @Test
+    void groupsByPaintingDimensionsAndSkipsCancelledOrders() {
+        OrderFactStore store = new OrderFactStore();
+        store.setPaintingDimensions(10, "Oil", List.of("Landscape", "Abstract"));
+        store.setPaintingDimensions(11, "Acrylic", List.of());
+        store.appendOrder(1, 1_000, DayOfWeek.MONDAY, false,
+                new long[] { 10, 11 }, new int[] { 1, 1 }, new long[] { 300_00, 100_00 });
+        store.appendOrder(2, 2_000, DayOfWeek.TUESDAY, false,
+                new long[] { 10 }, new int[] { 2 }, new long[] { 300_00 });
+        store.setCancelled(2, true);
+
+        Map<String, Long> byMedium = revenueByKey(store.query(BY_MEDIUM));
+        Map<String, Long> byCategory = revenueByKey(store.query(query(OrderFactStore.Dimension.CATEGORY, false)));
+        Map<String, Long> withCancelled = revenueByKey(store.query(query(OrderFactStore.Dimension.MEDIUM, true)));
+
+        assertEquals(Map.of("Oil", 300_00L, "Acrylic", 100_00L), byMedium);
+        assertEquals(Map.of("Landscape", 300_00L, "Abstract", 300_00L, "Uncategorized", 100_00L), byCategory);
+        assertEquals(Map.of("Oil", 900_00L, "Acrylic", 100_00L), withCancelled);
+    }
+
+    @Test
+    void readersNeverSeePartOfAnOrder() throws Exception {
+        OrderFactStore store = new OrderFactStore();
+        int orders = 20_000;
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int id = 0; id < orders; id++) {
+                // Every order has three items, one unit each, so complete orders give multiples of three
+                store.appendOrder(id, id, DayOfWeek.of(id % 7 + 1), false,
+                        new long[] { id % 50, id % 50 + 1, id % 50 + 2 }, new int[] { 1, 1, 1 },
+                        new long[] { 100, 200, 300 });
+                if (id % 1_000 == 0) {
+                    store.setPaintingDimensions(id % 50, "Medium-" + id, List.of("Category-" + id));
+                }
+            }
+        });
+
+        AtomicReference<String> torn = new AtomicReference<>();
+        while (!writer.isDone()) {
+            long units = 0;
+            long revenue = 0;
+            for (OrderFactStore.Group group : store.query(query(OrderFactStore.Dimension.WEEKDAY, false))) {
+                units += group.units();
+                revenue += group.revenuePaise();
+            }
+            if (units % 3 != 0 || revenue != units / 3 * 600) {
+                torn.set(units + " units, " + revenue + " paise");
+            }
+        }
+        writer.get();
+
+        assertNull(torn.get());
+        assertEquals(orders * 3, store.size());
+        long units = store.query(BY_MEDIUM).stream().mapToLong(OrderFactStore.Group::units).sum();
+        assertEquals(orders * 3L, units);
+    }
+
+    private static OrderFactStore.Query query(OrderFactStore.Dimension dimension, boolean includeCancelled) {
+        return new OrderFactStore.Query(dimension, Long.MIN_VALUE, Long.MAX_VALUE,
+                OrderFactStore.NONE, OrderFactStore.NONE, includeCancelled, null);
+    }
+
+    private static Map<String, Long> revenueByKey(List<OrderFactStore.Group> groups) {
+        return groups.stream().collect(Collectors.toMap(OrderFactStore.Group::key, OrderFactStore.Group::revenuePaise));
+    }
+}
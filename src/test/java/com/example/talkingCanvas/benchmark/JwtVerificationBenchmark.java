@@ -0,0 +1,87 @@
+package com.example.talkingCanvas.benchmark;
+
+import com.example.talkingCanvas.model.User;
+import com.example.talkingCanvas.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating a request's JWT: the previous validate-then-extract flow (two parses,
+ * a key derived for each), a single parse with the prebuilt parser, and a repeated token served
+ * from the verified-token cache. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "TalkingCanvasSecretKeyForJWTTokenGeneration2024VerySecureAndLongKey";
+    private static final long EXPIRATION_MS = 86_400_000L;
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtTokenProvider(SECRET, EXPIRATION_MS, 0);
+        cached = new JwtTokenProvider(SECRET, EXPIRATION_MS, 10_000);
+        User user = User.builder()
+                .id(42L)
+                .name("Benchmark User")
+                .email("benchmark@example.com")
+                .role(User.Role.USER)
+                .build();
+        token = cached.generateAccessToken(user);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public Long legacyValidateThenExtract() {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token);
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    @Benchmark
+    public JwtTokenProvider.AccessToken singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtTokenProvider.AccessToken cachedToken() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JwtTokenProvider.AccessToken cachedTokenContended() {
+        return cached.verify(token);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.talkingCanvas.benchmark;
+
+import com.example.talkingCanvas.util.OrderNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order number generation throughput, single threaded and contended, against the previous
+ * timestamp-plus-random scheme. Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderNumberGeneratorBenchmark {
+
+    private static final DateTimeFormatter LEGACY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private final OrderNumberGenerator generator = new OrderNumberGenerator(1, System::currentTimeMillis);
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public String nextOrderNumber() {
+        return generator.nextOrderNumber();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String nextOrderNumberContended() {
+        return generator.nextOrderNumber();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyOrderNumberContended() {
+        String timestamp = LocalDateTime.now().format(LEGACY_FORMAT);
+        int random = (int) (Math.random() * 1000);
+        return "TC" + timestamp + String.format("%03d", random);
+    }
+}
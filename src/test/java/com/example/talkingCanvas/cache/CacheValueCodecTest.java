@@ -0,0 +1,83 @@
+package com.example.talkingCanvas.cache;
+
+import com.example.talkingCanvas.dto.common.PageResponse;
+import com.example.talkingCanvas.dto.painting.CategoryDTO;
+import com.example.talkingCanvas.dto.painting.PaintingResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheValueCodecTest {
+
+    private final CacheValueCodec codec = new CacheValueCodec();
+
+    @Test
+    void dtosSurviveARoundTrip() {
+        PageResponse<PaintingResponse> page = PageResponse.<PaintingResponse>builder()
+                .content(List.of(painting(1L), painting(2L)))
+                .pageNumber(0)
+                .pageSize(2)
+                .totalElements(2L)
+                .totalPages(1)
+                .first(true)
+                .last(true)
+                .build();
+
+        assertEquals(page, codec.decode(codec.encode(page)));
+    }
+
+    @Test
+    void jdkValuesSurviveARoundTrip() {
+        Map<String, Object> value = Map.of("price", new BigDecimal("1500.00"), "ids", List.of(1L, 2L),
+                "at", LocalDateTime.of(2024, 5, 1, 12, 30));
+
+        Object decoded = codec.decode(codec.encode(value));
+
+        assertTrue(decoded instanceof Map<?, ?>);
+        assertEquals(value, decoded);
+    }
+
+    @Test
+    void encodedValuesRecordTheirUncompressedLength() {
+        List<PaintingResponse> value = List.of(painting(1L), painting(2L), painting(3L));
+
+        byte[] encoded = codec.encode(value);
+
+        assertEquals(codec.serialize(value).length, CacheValueCodec.rawLength(encoded));
+        assertTrue(encoded.length < CacheValueCodec.rawLength(encoded), "repetitive DTOs should compress");
+    }
+
+    @Test
+    void typesOutsideTheAllowListAreRejected() {
+        byte[] encoded = codec.encode(List.of(URI.create("https://example.com")));
+
+        assertThrows(UncheckedIOException.class, () -> codec.decode(encoded));
+    }
+
+    private static PaintingResponse painting(Long id) {
+        return PaintingResponse.builder()
+                .id(id)
+                .title("Sunset over the harbour " + id)
+                .description("Oil on canvas, painted on location over three evenings.")
+                .artistName("Ada")
+                .price(new BigDecimal("1500.00"))
+                .currency("INR")
+                .height(60.0)
+                .width(90.0)
+                .isAvailable(true)
+                .stockQuantity(3)
+                .categories(List.of(CategoryDTO.builder().id(4L).name("Landscape").build()))
+                .viewCount(12L)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 12, 30))
+                .build();
+    }
+}
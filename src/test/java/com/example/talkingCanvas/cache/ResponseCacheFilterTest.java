@@ -0,0 +1,59 @@
+package com.example.talkingCanvas.cache;
+
+import com.example.talkingCanvas.service.StockHoldService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ResponseCacheFilterTest {
+
+    private ResponseCacheFilter filter;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        filter = new ResponseCacheFilter(new ConcurrentMapCacheManager(ResponseCacheFilter.CACHE_NAME),
+                mock(StockHoldService.class));
+        etag = request(null).getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void matchingEntityTagIsNotModified() throws Exception {
+        assertEquals(304, request(etag).getStatus());
+        assertEquals(304, request("W/\"other\", " + etag).getStatus());
+        assertEquals(304, request(etag.substring(2)).getStatus());
+    }
+
+    @Test
+    void entityTagContainingTheCurrentOneIsNotAMatch() throws Exception {
+        String tag = etag.substring(3, etag.length() - 1);
+
+        assertEquals(200, request("\"x" + tag + "\"").getStatus());
+        assertEquals(200, request("\"" + tag + "x\"").getStatus());
+    }
+
+    private MockHttpServletResponse request(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/paintings");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType("application/json");
+            res.getOutputStream().write("{\"content\":[]}".getBytes(StandardCharsets.UTF_8));
+        };
+        request.setAttribute(ResponseCacheFilter.HELD_QUANTITIES_ATTRIBUTE, Map.of());
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
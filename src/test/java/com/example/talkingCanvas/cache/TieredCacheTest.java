@@ -0,0 +1,119 @@
+package com.example.talkingCanvas.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredCacheTest {
+
+    private static final int ENTRIES = 50;
+
+    private TieredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // Evictions run on the caller so demotions have happened when put() returns
+        Caffeine<Object, Object> objectTier = Caffeine.newBuilder()
+                .maximumSize(10)
+                .executor(Runnable::run);
+        cache = TieredCache.create("test", objectTier, 1_000_000, Duration.ofMinutes(5), 64, new CacheValueCodec());
+    }
+
+    @Test
+    void sizeEvictionsAreDemotedAndPromotedBack() {
+        fill();
+
+        assertTrue(cache.getCompressedTier().estimatedSize() > 0);
+        assertTrue(cache.getCompressionRatio() > 1.0);
+        List<String> demoted = demotedKeys();
+        String key = demoted.get(0);
+
+        assertEquals(value(key), cache.get(key, String.class));
+
+        assertNull(cache.getCompressedTier().getIfPresent(key));
+        assertEquals(value(key), cache.getNativeCache().getIfPresent(key));
+        assertEquals(1, cache.getDecompressCount());
+    }
+
+    @Test
+    void everyValueStaysReachableAcrossTiers() {
+        fill();
+
+        for (int i = 0; i < ENTRIES; i++) {
+            assertEquals(value("k" + i), cache.get("k" + i, String.class), "k" + i);
+        }
+    }
+
+    @Test
+    void valuesBelowTheMinimumSizeAreNotDemoted() {
+        for (int i = 0; i < ENTRIES; i++) {
+            cache.put("k" + i, "small");
+        }
+        cache.getNativeCache().cleanUp();
+
+        assertEquals(0, cache.getCompressedTier().estimatedSize());
+    }
+
+    @Test
+    void writesAndEvictionsDropTheCompressedCopy() {
+        fill();
+        List<String> demoted = demotedKeys();
+        String written = demoted.get(0);
+        String evicted = demoted.get(1);
+
+        cache.put(written, "replaced");
+        cache.evict(evicted);
+
+        assertNull(cache.getCompressedTier().getIfPresent(written));
+        assertEquals("replaced", cache.get(written, String.class));
+        assertNull(cache.get(evicted));
+    }
+
+    @Test
+    void clearEmptiesBothTiers() {
+        fill();
+
+        assertTrue(cache.invalidate());
+
+        assertEquals(0, cache.getCompressedTier().estimatedSize());
+        assertEquals(0, cache.getNativeCache().estimatedSize());
+        assertFalse(cache.invalidate());
+    }
+
+    @Test
+    void loaderIsNotCalledForADemotedValue() {
+        fill();
+        String key = demotedKeys().get(0);
+
+        String loaded = cache.get(key, () -> "loaded");
+
+        assertEquals(value(key), loaded);
+    }
+
+    private void fill() {
+        for (int i = 0; i < ENTRIES; i++) {
+            cache.put("k" + i, value("k" + i));
+        }
+        cache.getNativeCache().cleanUp();
+    }
+
+    private List<String> demotedKeys() {
+        List<String> keys = new ArrayList<>();
+        cache.getCompressedTier().asMap().keySet().forEach(key -> keys.add((String) key));
+        assertTrue(keys.size() >= 2, "expected demoted entries");
+        return keys;
+    }
+
+    private static String value(String key) {
+        return (key + " painting description ").repeat(20);
+    }
+}
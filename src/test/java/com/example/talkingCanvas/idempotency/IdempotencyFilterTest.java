@@ -0,0 +1,159 @@
+package com.example.talkingCanvas.idempotency;
+
+import com.example.talkingCanvas.repository.IdempotencyRecordRepository;
+import com.example.talkingCanvas.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String KEY = "order-1";
+
+    private IdempotencyRecordRepository repository;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.claim(anyLong(), anyString(), anyString(), anyString(), any(), any())).thenReturn(1);
+        when(repository.complete(anyLong(), anyString(), anyString(), anyString(), anyInt(), any(), any(), any()))
+                .thenReturn(1);
+        IdempotencyStore store = new IdempotencyStore(repository, 24, 120, 200, 100);
+        filter = new IdempotencyFilter(store, new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "maxBodyBytes", 64);
+
+        UserPrincipal principal = new UserPrincipal(7L, "Ada", "ada@example.com", null, List.of(), true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryReplaysTheFirstResponse() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"order\":" + executions.get() + "}").getBytes(StandardCharsets.UTF_8));
+        };
+
+        MockHttpServletResponse first = send("{\"qty\":1}", chain);
+        MockHttpServletResponse retry = send("{\"qty\":1}", chain);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"order\":1}", retry.getContentAsString());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (request, response) -> executions.incrementAndGet();
+
+        send("{\"qty\":1}", chain);
+        MockHttpServletResponse other = send("{\"qty\":2}", chain);
+
+        assertEquals(1, executions.get());
+        assertEquals(422, other.getStatus());
+    }
+
+    @Test
+    void duplicateWhileTheFirstIsRunningGetsConflict() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(
+                            new UserPrincipal(7L, "Ada", "ada@example.com", null, List.of(), true), null, List.of()));
+            try {
+                return send("{\"qty\":1}", slow);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse duplicate = send("{\"qty\":1}", (request, response) -> executions.incrementAndGet());
+        proceed.countDown();
+
+        assertEquals(409, duplicate.getStatus());
+        assertEquals(0, executions.get());
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void oversizedBodyIsRejectedWithoutRunningTheRequest() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+
+        MockHttpServletResponse response = send("x".repeat(65), (request, res) -> executions.incrementAndGet());
+
+        assertEquals(413, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void responseIsSentEvenIfRecordingItFails() throws Exception {
+        when(repository.complete(anyLong(), anyString(), anyString(), anyString(), anyInt(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("database down"));
+
+        MockHttpServletResponse response = send("{\"qty\":1}", (request, res) ->
+                res.getOutputStream().write("done".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("done", response.getContentAsString());
+    }
+
+    private MockHttpServletResponse send(String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.addHeader(IdempotencyFilter.HEADER, KEY);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
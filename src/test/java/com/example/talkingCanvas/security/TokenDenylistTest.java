@@ -0,0 +1,135 @@
+package com.example.talkingCanvas.security;
+
+import com.example.talkingCanvas.model.TokenRevocation;
+import com.example.talkingCanvas.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenDenylistTest {
+
+    private TokenRevocationRepository repository;
+    private PrincipalCache principalCache;
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TokenRevocationRepository.class);
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        principalCache = new PrincipalCache(60, 100);
+        denylist = new TokenDenylist(repository, principalCache, 30);
+    }
+
+    @Test
+    void everyTokenIsRevokedUntilLoaded() {
+        assertTrue(denylist.isRevoked("jti-1", 1, 0));
+
+        denylist.afterSingletonsInstantiated();
+
+        assertFalse(denylist.isRevoked("jti-1", 1, 0));
+    }
+
+    @Test
+    void failedLoadKeepsRejectingUntilAPollLoads() {
+        when(repository.findByExpiresAtAfter(any())).thenThrow(new IllegalStateException("database down"));
+        denylist.afterSingletonsInstantiated();
+        assertTrue(denylist.isRevoked("jti-1", 1, 0));
+
+        doReturn(List.of()).when(repository).findByExpiresAtAfter(any());
+        denylist.poll();
+
+        assertFalse(denylist.isRevoked("jti-1", 1, 0));
+    }
+
+    @Test
+    void revokesSingleTokens() {
+        denylist.load();
+
+        denylist.add(tokenRevocation("jti-1", LocalDateTime.now().plusMinutes(15)));
+
+        assertTrue(denylist.isRevoked("jti-1", 1, 3));
+        assertFalse(denylist.isRevoked("jti-2", 1, 3));
+        assertFalse(denylist.isRevoked(null, 1, 3));
+    }
+
+    @Test
+    void revokesVersionsBelowTheUsersMinimum() {
+        denylist.load();
+
+        denylist.add(userRevocation(7, 3, LocalDateTime.now().plusMinutes(15)));
+
+        assertTrue(denylist.isRevoked("jti", 7, 2));
+        assertTrue(denylist.isRevoked(null, 7, 0));
+        assertFalse(denylist.isRevoked("jti", 7, 3));
+        assertFalse(denylist.isRevoked("jti", 8, 0));
+    }
+
+    @Test
+    void userRevocationsEvictCachedPrincipals() {
+        denylist.load();
+        UserPrincipal cached = principalCache.get(7L, id -> mock(UserPrincipal.class));
+
+        denylist.add(userRevocation(7, 3, LocalDateTime.now().plusMinutes(15)));
+
+        assertNotSame(cached, principalCache.get(7L, id -> mock(UserPrincipal.class)));
+    }
+
+    @Test
+    void loadsUnexpiredRevocations() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                tokenRevocation("jti-1", LocalDateTime.now().plusMinutes(15)),
+                userRevocation(7, 2, LocalDateTime.now().plusMinutes(15))));
+
+        denylist.load();
+
+        assertTrue(denylist.isRevoked("jti-1", 1, 0));
+        assertTrue(denylist.isRevoked(null, 7, 1));
+    }
+
+    @Test
+    void purgeDropsOnlyExpiredRevocations() throws InterruptedException {
+        denylist.load();
+        denylist.add(tokenRevocation("short", LocalDateTime.now().plusNanos(100_000_000)));
+        denylist.add(userRevocation(7, 2, LocalDateTime.now().plusNanos(100_000_000)));
+        denylist.add(tokenRevocation("long", LocalDateTime.now().plusMinutes(15)));
+        denylist.add(userRevocation(8, 2, LocalDateTime.now().plusMinutes(15)));
+        assertTrue(denylist.isRevoked("short", 1, 0));
+
+        Thread.sleep(200);
+        denylist.purge();
+
+        assertFalse(denylist.isRevoked("short", 1, 0));
+        assertFalse(denylist.isRevoked(null, 7, 1));
+        assertTrue(denylist.isRevoked("long", 1, 0));
+        assertTrue(denylist.isRevoked(null, 8, 1));
+        verify(repository).deleteExpired(any());
+    }
+
+    private static TokenRevocation tokenRevocation(String tokenId, LocalDateTime expiresAt) {
+        return TokenRevocation.builder()
+                .kind(TokenRevocation.Kind.TOKEN)
+                .subject(tokenId)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static TokenRevocation userRevocation(long userId, int minVersion, LocalDateTime expiresAt) {
+        return TokenRevocation.builder()
+                .kind(TokenRevocation.Kind.USER)
+                .subject(Long.toString(userId))
+                .minVersion(minVersion)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.model.StockHold;
+import com.example.talkingCanvas.repository.StockHoldRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockHoldServiceTest {
+
+    private StockHoldRepository repository;
+    private StockHoldService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(StockHoldRepository.class);
+        when(repository.findByUserIdAndPaintingId(anyLong(), anyLong())).thenReturn(Optional.empty());
+        service = new StockHoldService(repository, mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "holdMinutes", 15L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void holdsCountAgainstOtherCartsOnly() {
+        service.hold(1L, 10L, 2, 3);
+
+        assertThrows(BadRequestException.class, () -> service.hold(2L, 10L, 2, 3));
+        service.hold(1L, 10L, 3, 3);
+        assertEquals(3, service.getHeldQuantity(10L));
+        assertEquals(0, service.getHeldQuantity(10L, 1L));
+        assertEquals(0, service.getAvailableQuantity(10L, 3));
+
+        service.release(1L, 10L);
+        assertEquals(0, service.getHeldQuantity(10L));
+        assertEquals(3, service.getAvailableQuantity(10L, 3));
+    }
+
+    @Test
+    void rolledBackChangesAreUndone() {
+        service.hold(1L, 10L, 1, 5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.hold(1L, 10L, 4, 5);
+        service.hold(2L, 10L, 1, 5);
+        assertEquals(5, service.getHeldQuantity(10L));
+        rollBack();
+
+        assertEquals(1, service.getHeldQuantity(10L));
+        assertEquals(0, service.getHeldQuantity(10L, 1L));
+    }
+
+    @Test
+    void restoredHoldsExpireOnSchedule() throws InterruptedException {
+        when(repository.findAll()).thenReturn(List.of(
+                row(1L, 10L, 2, LocalDateTime.now().plusNanos(500_000_000)),
+                row(2L, 10L, 1, LocalDateTime.now().plusMinutes(10))));
+
+        service.restoreHolds();
+        assertEquals(3, service.getHeldQuantity(10L));
+
+        // The wheel ticks once a second, so a deadline half a second out is due within two
+        Thread.sleep(2_100);
+        service.expireHolds();
+
+        assertEquals(1, service.getHeldQuantity(10L));
+        assertEquals(0, service.getHeldQuantity(10L, 2L));
+        // Once for the rows that expired during downtime, once for the expired hold
+        verify(repository, times(2)).deleteExpired(any());
+    }
+
+    private static void rollBack() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private static StockHold row(Long userId, Long paintingId, int quantity, LocalDateTime expiresAt) {
+        return StockHold.builder()
+                .userId(userId)
+                .paintingId(paintingId)
+                .quantity(quantity)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.dto.order.CreateOrderRequest;
+import com.example.talkingCanvas.dto.user.AddressDTO;
+import com.example.talkingCanvas.exception.BadRequestException;
+import com.example.talkingCanvas.model.Cart;
+import com.example.talkingCanvas.model.CartItem;
+import com.example.talkingCanvas.model.Painting;
+import com.example.talkingCanvas.model.User;
+import com.example.talkingCanvas.repository.CartRepository;
+import com.example.talkingCanvas.repository.PaintingRepository;
+import com.example.talkingCanvas.repository.UserRepository;
+import com.example.talkingCanvas.util.EmailService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrency harness for checkout stock reservation. Hundreds of buyers, each with the same
+ * painting in their cart, check out at once; exactly as many orders as there was stock may succeed.
+ * <p>
+ * Needs a disposable PostgreSQL database, e.g.
+ * {@code CONCURRENCY_TEST_DB_URL=jdbc:postgresql://localhost:5432/talkingcanvas_test mvn test}.
+ * Skipped otherwise.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "CONCURRENCY_TEST_DB_URL", matches = ".+")
+class StockReservationConcurrencyTest {
+
+    private static final int BUYERS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaintingRepository paintingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("CONCURRENCY_TEST_DB_URL"));
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.show-sql", () -> false);
+    }
+
+    @Test
+    void oneOfAKindPaintingIsSoldExactlyOnce() throws Exception {
+        runCheckouts(1);
+    }
+
+    @Test
+    void limitedEditionNeverOversells() throws Exception {
+        runCheckouts(25);
+    }
+
+    private void runCheckouts(int stock) throws Exception {
+        Painting painting = paintingRepository.save(Painting.builder()
+                .title("Concurrency test " + UUID.randomUUID())
+                .artistName("Test Artist")
+                .price(new BigDecimal("1000.00"))
+                .height(50.0)
+                .width(40.0)
+                .depth(2.0)
+                .medium("Oil on Canvas")
+                .stockQuantity(stock)
+                .build());
+        List<Long> buyerIds = createBuyersWithPaintingInCart(painting);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Map<String, Integer> unexpected = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long buyerId : buyerIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.createOrder(buyerId, checkoutRequest());
+                    succeeded.incrementAndGet();
+                } catch (BadRequestException ex) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    unexpected.merge(ex.getClass().getSimpleName() + ": " + ex.getMessage(), 1, Integer::sum);
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+
+        System.out.printf("Stock %d, %d buyers on %d threads: %d sold, %d rejected, %d errors in %.2f s (%.0f checkouts/s)%n",
+                stock, BUYERS, THREADS, succeeded.get(), rejected.get(), unexpected.size(), seconds, BUYERS / seconds);
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(stock, succeeded.get(), "every unit must be sold exactly once");
+        assertEquals(BUYERS - stock, rejected.get());
+
+        Painting after = paintingRepository.findById(painting.getId()).orElseThrow();
+        assertEquals(0, after.getStockQuantity());
+        assertFalse(after.getIsAvailable());
+        assertEquals(stock, after.getPurchaseCount());
+    }
+
+    private List<Long> createBuyersWithPaintingInCart(Painting painting) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<Long> buyerIds = new ArrayList<>(BUYERS);
+        for (int i = 0; i < BUYERS; i++) {
+            User buyer = userRepository.save(User.builder()
+                    .name("Buyer " + i)
+                    .email("buyer-" + run + "-" + i + "@example.com")
+                    .password("not-used")
+                    .build());
+            Cart cart = Cart.builder().user(buyer).build();
+            cart.addItem(CartItem.builder().painting(painting).quantity(1).build());
+            cartRepository.save(cart);
+            buyerIds.add(buyer.getId());
+        }
+        return buyerIds;
+    }
+
+    private static CreateOrderRequest checkoutRequest() {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setDeliveryAddress(AddressDTO.builder()
+                .street("1 Test Street")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .pincode("411001")
+                .build());
+        return request;
+    }
+}
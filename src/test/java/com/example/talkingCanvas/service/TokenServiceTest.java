@@ -0,0 +1,160 @@
+package com.example.talkingCanvas.service;
+
+import com.example.talkingCanvas.exception.UnauthorizedException;
+import com.example.talkingCanvas.model.RefreshToken;
+import com.example.talkingCanvas.model.TokenRevocation;
+import com.example.talkingCanvas.model.User;
+import com.example.talkingCanvas.repository.RefreshTokenRepository;
+import com.example.talkingCanvas.repository.TokenRevocationRepository;
+import com.example.talkingCanvas.repository.UserRepository;
+import com.example.talkingCanvas.security.JwtTokenProvider;
+import com.example.talkingCanvas.security.PrincipalCache;
+import com.example.talkingCanvas.security.TokenDenylist;
+import com.example.talkingCanvas.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "TokenServiceTestSecretKeyLongEnoughForHmacSha256Signing";
+
+    private final Map<String, RefreshToken> storedTokens = new HashMap<>();
+    private RefreshTokenRepository refreshTokenRepository;
+    private TokenRevocationRepository revocationRepository;
+    private JwtTokenProvider tokenProvider;
+    private PrincipalCache principalCache;
+    private TokenDenylist denylist;
+    private TokenService tokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.save(any())).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            storedTokens.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedTokens.get(invocation.<String>getArgument(0))));
+
+        revocationRepository = mock(TokenRevocationRepository.class);
+        when(revocationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(revocationRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+
+        user = User.builder().id(5L).name("Ada").email("ada@example.com").build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+
+        tokenProvider = new JwtTokenProvider(SECRET, 900_000L, 100);
+        principalCache = new PrincipalCache(60, 100);
+        denylist = new TokenDenylist(revocationRepository, principalCache, 30);
+        denylist.load();
+        tokenService = new TokenService(tokenProvider, refreshTokenRepository, revocationRepository, userRepository,
+                denylist, 2_592_000_000L, 10, 86_400_000L);
+    }
+
+    @Test
+    void refreshRotatesTheTokenWithinItsFamily() {
+        TokenService.IssuedTokens first = tokenService.issue(user);
+
+        TokenService.IssuedTokens second = tokenService.refresh(first.refreshToken());
+
+        assertNotEquals(first.refreshToken(), second.refreshToken());
+        assertEquals(2, storedTokens.size());
+        RefreshToken replaced = storedTokens.values().stream().filter(t -> t.getRevokedAt() != null).findFirst().orElseThrow();
+        RefreshToken current = storedTokens.values().stream().filter(t -> t.getRevokedAt() == null).findFirst().orElseThrow();
+        assertEquals(replaced.getFamilyId(), current.getFamilyId());
+        assertNotNull(tokenProvider.verify(second.accessToken()));
+    }
+
+    @Test
+    void reuseWithinTheGracePeriodIsRejectedWithoutRevokingTheFamily() {
+        TokenService.IssuedTokens first = tokenService.issue(user);
+        tokenService.refresh(first.refreshToken());
+
+        assertThrows(UnauthorizedException.class, () -> tokenService.refresh(first.refreshToken()));
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void reuseAfterTheGracePeriodRevokesTheWholeFamily() {
+        TokenService.IssuedTokens first = tokenService.issue(user);
+        tokenService.refresh(first.refreshToken());
+        RefreshToken replaced = storedTokens.values().stream().filter(t -> t.getRevokedAt() != null).findFirst().orElseThrow();
+        replaced.setRevokedAt(LocalDateTime.now().minusMinutes(1));
+
+        assertThrows(UnauthorizedException.class, () -> tokenService.refresh(first.refreshToken()));
+
+        verify(refreshTokenRepository).revokeFamily(eq(replaced.getFamilyId()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void expiredAndUnknownTokensAreRejected() {
+        TokenService.IssuedTokens issued = tokenService.issue(user);
+        storedTokens.values().forEach(token -> token.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+
+        assertThrows(UnauthorizedException.class, () -> tokenService.refresh(issued.refreshToken()));
+        assertThrows(UnauthorizedException.class, () -> tokenService.refresh("unknown"));
+    }
+
+    @Test
+    void raisingTheVersionRevokesEarlierAccessTokens() {
+        JwtTokenProvider.AccessToken before = tokenProvider.verify(tokenService.issue(user).accessToken());
+
+        tokenService.revokeAccessTokens(user, false);
+        JwtTokenProvider.AccessToken after = tokenProvider.verify(tokenService.issue(user).accessToken());
+
+        assertEquals(1, user.getTokenVersion());
+        assertTrue(denylist.isRevoked(before.tokenId(), before.userId(), before.version()));
+        assertFalse(denylist.isRevoked(after.tokenId(), after.userId(), after.version()));
+        verify(refreshTokenRepository, never()).revokeAllForUser(any(), any());
+    }
+
+    @Test
+    void userRevocationsOutliveLegacyAccessTokens() {
+        tokenService.revokeAccessTokens(user, false);
+
+        ArgumentCaptor<TokenRevocation> revocation = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(revocationRepository).save(revocation.capture());
+        assertTrue(revocation.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusHours(24)));
+    }
+
+    @Test
+    void accessTokensCarryNoProfileData() {
+        String accessToken = tokenService.issue(user).accessToken();
+        JwtTokenProvider.AccessToken token = tokenProvider.verify(accessToken);
+        String payload = new String(Base64.getUrlDecoder().decode(accessToken.split("\\.")[1]),
+                StandardCharsets.UTF_8);
+
+        assertTrue(token.hasClaims());
+        assertFalse(payload.contains("ada@example.com"));
+        assertFalse(payload.contains("Ada"));
+        assertNull(UserPrincipal.create(token).getEmail());
+    }
+}
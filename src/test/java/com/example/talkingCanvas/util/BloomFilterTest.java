@@ -0,0 +1,54 @@
+package com.example.talkingCanvas.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void addedKeysAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("t:" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("t:" + i), "false negative for t:" + i);
+        }
+    }
+
+    @Test
+    void addedKeysAreFoundEvenWhenOverfilled() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.add("u:" + i);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("u:" + i), "false negative for u:" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateIsNearTheTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("present-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = falsePositives / (double) probes;
+        assertTrue(rate < 0.02, "false-positive rate " + rate);
+    }
+
+    @Test
+    void rejectsRatesOutsideTheOpenUnitInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+    }
+}
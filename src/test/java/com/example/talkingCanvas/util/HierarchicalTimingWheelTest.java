@@ -0,0 +1,123 @@
+package com.example.talkingCanvas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void itemsExpireOnTheTickOfTheirDeadlineAcrossLevels() {
+        // 4 slots x 3 levels spans 64 ticks; later deadlines wrap the top level and are placed again
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 1 + random.nextInt(2_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        Map<Long, Long> expiredAt = new HashMap<>();
+        for (long now = TICK; now <= 2_010; now += TICK) {
+            long tickEnd = now;
+            wheel.advance(now, deadline -> expiredAt.merge(deadline, tickEnd, Math::max));
+        }
+
+        assertEquals(0, wheel.size());
+        for (long deadline : deadlines) {
+            assertEquals(Math.ceilDiv(deadline, TICK) * TICK, expiredAt.get(deadline), "deadline " + deadline);
+        }
+    }
+
+    @Test
+    void advancingOverManyTicksAtOnceExpiresEverythingDue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 1_000);
+        wheel.schedule("soon", 1_050);
+        wheel.schedule("cascaded", 1_700);
+        wheel.schedule("later", 3_000);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(2_000, expired::add);
+
+        assertEquals(List.of("soon", "cascaded"), expired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 1_000);
+        wheel.schedule("late", 500);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(1_010, expired::add);
+
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void cancelledItemsNeverExpire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        HierarchicalTimingWheel.Timeout<String> near = wheel.schedule("near", 20);
+        HierarchicalTimingWheel.Timeout<String> far = wheel.schedule("far", 500);
+        wheel.schedule("kept", 500);
+
+        assertTrue(wheel.cancel(near));
+        assertFalse(wheel.cancel(near));
+        // Let "far" cascade down a level before cancelling it
+        wheel.advance(300, item -> { });
+        assertTrue(wheel.cancel(far));
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(1_000, expired::add);
+
+        assertEquals(List.of("kept"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void expiredTimeoutsCannotBeCancelled() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("item", 10);
+        wheel.advance(10, item -> { });
+
+        assertFalse(wheel.cancel(timeout));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void callbacksMayScheduleAgain() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        wheel.schedule(1, 10);
+
+        List<Integer> expired = new ArrayList<>();
+        for (long now = TICK; now <= 50; now += TICK) {
+            long next = now + TICK;
+            wheel.advance(now, item -> {
+                expired.add(item);
+                wheel.schedule(item + 1, next);
+            });
+        }
+
+        assertEquals(List.of(1, 2, 3, 4, 5), expired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(0, 4, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(TICK, 1, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(TICK, 4, 0, 0));
+    }
+}
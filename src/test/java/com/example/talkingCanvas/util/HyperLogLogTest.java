@@ -0,0 +1,96 @@
+package com.example.talkingCanvas.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    /** Four standard errors of a 2^12-register sketch */
+    private static final double TOLERANCE = 4 * 1.04 / Math.sqrt(HyperLogLog.REGISTER_COUNT);
+
+    @Test
+    void estimatesAreWithinTheSketchError() {
+        for (int cardinality : new int[] { 100, 1_000, 10_000, 100_000, 1_000_000 }) {
+            HyperLogLog sketch = sketchOf("viewer-", 0, cardinality);
+            assertWithinError(cardinality, sketch.estimate());
+        }
+    }
+
+    @Test
+    void smallCardinalitiesAreCountedAlmostExactly() {
+        assertEquals(0, new HyperLogLog().estimate());
+        assertEquals(1, sketchOf("viewer-", 0, 1).estimate());
+        long estimate = sketchOf("viewer-", 0, 20).estimate();
+        assertTrue(Math.abs(estimate - 20) <= 1, "estimate " + estimate);
+    }
+
+    @Test
+    void duplicatesDoNotChangeTheEstimate() {
+        HyperLogLog sketch = sketchOf("viewer-", 0, 5_000);
+        long before = sketch.estimate();
+        for (int i = 0; i < 5_000; i++) {
+            assertFalse(sketch.add(HyperLogLog.hash("viewer-" + i)));
+        }
+        assertEquals(before, sketch.estimate());
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        // Two instances seeing overlapping viewers: 0..60k and 40k..100k
+        HyperLogLog first = sketchOf("viewer-", 0, 60_000);
+        HyperLogLog second = sketchOf("viewer-", 40_000, 100_000);
+
+        first.merge(second);
+
+        assertWithinError(100_000, first.estimate());
+        assertArrayEquals(sketchOf("viewer-", 0, 100_000).toBytes(), first.toBytes());
+    }
+
+    @Test
+    void mergeIsCommutativeAndIdempotent() {
+        HyperLogLog a = sketchOf("a-", 0, 3_000);
+        HyperLogLog b = sketchOf("b-", 0, 7_000);
+
+        HyperLogLog ab = HyperLogLog.fromBytes(a.toBytes());
+        ab.merge(b);
+        HyperLogLog ba = HyperLogLog.fromBytes(b.toBytes());
+        ba.merge(a);
+        assertArrayEquals(ab.toBytes(), ba.toBytes());
+
+        byte[] once = ab.toBytes();
+        ab.merge(b);
+        ab.merge(ab);
+        assertArrayEquals(once, ab.toBytes());
+    }
+
+    @Test
+    void registersRoundTripThroughBytes() {
+        HyperLogLog sketch = sketchOf("viewer-", 0, 1_234);
+        byte[] bytes = sketch.toBytes();
+
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+        bytes[0] = 99;
+
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(null));
+    }
+
+    private static HyperLogLog sketchOf(String prefix, int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add(HyperLogLog.hash(prefix + i));
+        }
+        return sketch;
+    }
+
+    private static void assertWithinError(long expected, long estimate) {
+        double error = Math.abs(estimate - expected) / (double) expected;
+        assertTrue(error <= TOLERANCE, "estimate " + estimate + " for " + expected + " is off by " + error);
+    }
+}
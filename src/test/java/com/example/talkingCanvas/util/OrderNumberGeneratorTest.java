@@ -0,0 +1,106 @@
+package com.example.talkingCanvas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderNumberGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void concurrentCallersNeverReceiveTheSameNumber() throws Exception {
+        OrderNumberGenerator generator = new OrderNumberGenerator(7, System::currentTimeMillis);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                String previous = "";
+                boolean increasing = true;
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    String number = generator.nextOrderNumber();
+                    issued.add(number);
+                    increasing &= number.compareTo(previous) > 0;
+                    previous = number;
+                }
+                return increasing;
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get(1, TimeUnit.MINUTES), "numbers seen by one thread must increase");
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * IDS_PER_THREAD, issued.size());
+    }
+
+    @Test
+    void clockMovingBackwardsStillIssuesIncreasingNumbers() {
+        AtomicLong now = new AtomicLong(Instant.parse("2026-03-01T12:00:00Z").toEpochMilli());
+        OrderNumberGenerator generator = new OrderNumberGenerator(1, now::get);
+
+        long first = generator.nextId();
+        now.addAndGet(-5_000);
+        long second = generator.nextId();
+        long third = generator.nextId();
+        now.addAndGet(10_000);
+        long fourth = generator.nextId();
+
+        assertTrue(first < second && second < third && third < fourth);
+        assertEquals(OrderNumberGenerator.timestampOf(first), OrderNumberGenerator.timestampOf(third));
+        assertEquals(Instant.parse("2026-03-01T12:00:05Z"), OrderNumberGenerator.timestampOf(fourth));
+    }
+
+    @Test
+    void sequenceOverflowBorrowsTheNextMillisecond() {
+        AtomicLong now = new AtomicLong(Instant.parse("2026-03-01T12:00:00Z").toEpochMilli());
+        OrderNumberGenerator generator = new OrderNumberGenerator(1, now::get);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 3 * (1 << OrderNumberGenerator.SEQUENCE_BITS); i++) {
+            ids.add(generator.nextId());
+        }
+        assertEquals(3 * (1 << OrderNumberGenerator.SEQUENCE_BITS), ids.size());
+    }
+
+    @Test
+    void numbersRoundTripAndCarryTheirComponents() {
+        Instant issuedAt = Instant.parse("2026-03-01T12:00:00Z");
+        OrderNumberGenerator generator = new OrderNumberGenerator(42, issuedAt::toEpochMilli);
+
+        String number = generator.nextOrderNumber();
+        long id = OrderNumberGenerator.parse(number);
+
+        assertTrue(number.matches("TC[0-9A-HJKMNP-TV-Z]{13}"), number);
+        assertEquals(number, OrderNumberGenerator.format(id));
+        assertEquals(id, OrderNumberGenerator.parse(number.toLowerCase()));
+        assertEquals(issuedAt, OrderNumberGenerator.timestampOf(id));
+        assertEquals(42, OrderNumberGenerator.nodeIdOf(id));
+    }
+
+    @Test
+    void rejectsNodeIdsOutsideTheirBits() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(1024, System::currentTimeMillis));
+        assertThrows(IllegalArgumentException.class, () -> OrderNumberGenerator.parse("TC20240101120000123"));
+    }
+}